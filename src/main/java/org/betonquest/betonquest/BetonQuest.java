@@ -35,12 +35,18 @@ import org.betonquest.betonquest.exceptions.QuestRuntimeException;
 import org.betonquest.betonquest.id.*;
 import org.betonquest.betonquest.item.QuestItemHandler;
 import org.betonquest.betonquest.menu.RPGMenu;
+import org.betonquest.betonquest.modules.condition.ConditionCache;
+import org.betonquest.betonquest.modules.condition.ConditionCompiler;
+import org.betonquest.betonquest.modules.condition.ConditionExecutor;
 import org.betonquest.betonquest.modules.logger.DefaultBetonQuestLoggerFactory;
 import org.betonquest.betonquest.modules.logger.HandlerFactory;
+import org.betonquest.betonquest.modules.logger.HandlerLevelRegistry;
 import org.betonquest.betonquest.modules.logger.PlayerLogWatcher;
 import org.betonquest.betonquest.modules.logger.handler.chat.AccumulatingReceiverSelector;
 import org.betonquest.betonquest.modules.logger.handler.chat.ChatHandler;
 import org.betonquest.betonquest.modules.logger.handler.history.HistoryHandler;
+import org.betonquest.betonquest.modules.movement.MovementDispatcher;
+import org.betonquest.betonquest.modules.objective.ObjectiveEventDispatcher;
 import org.betonquest.betonquest.modules.playerhider.PlayerHider;
 import org.betonquest.betonquest.modules.schedule.EventScheduling;
 import org.betonquest.betonquest.modules.schedule.LastExecutionCache;
@@ -48,6 +54,8 @@ import org.betonquest.betonquest.modules.schedule.impl.realtime.cron.RealtimeCro
 import org.betonquest.betonquest.modules.schedule.impl.realtime.cron.RealtimeCronScheduler;
 import org.betonquest.betonquest.modules.schedule.impl.realtime.daily.RealtimeDailySchedule;
 import org.betonquest.betonquest.modules.schedule.impl.realtime.daily.RealtimeDailyScheduler;
+import org.betonquest.betonquest.modules.thread.PrimaryServerThreadExecutor;
+import org.betonquest.betonquest.modules.variable.VariableCache;
 import org.betonquest.betonquest.modules.versioning.Version;
 import org.betonquest.betonquest.modules.versioning.java.JREVersionPrinter;
 import org.betonquest.betonquest.modules.web.DownloadSource;
@@ -111,6 +119,7 @@ import org.betonquest.betonquest.quest.event.teleport.TeleportEventFactory;
 import org.betonquest.betonquest.quest.event.time.TimeEventFactory;
 import org.betonquest.betonquest.quest.event.velocity.VelocityEventFactory;
 import org.betonquest.betonquest.quest.event.weather.WeatherEventFactory;
+import org.betonquest.betonquest.utils.InstructionTokenizer;
 import org.betonquest.betonquest.utils.PlayerConverter;
 import org.betonquest.betonquest.variables.*;
 import org.bstats.bukkit.Metrics;
@@ -132,12 +141,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.time.Instant;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Handler;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Represents BetonQuest plugin.
@@ -148,6 +156,11 @@ import java.util.regex.Pattern;
 public class BetonQuest extends JavaPlugin {
     private static final int BSTATS_METRICS_ID = 551;
 
+    /**
+     * The maximum time a login waits for the saver before the data is loaded anyway, in milliseconds.
+     */
+    private static final long LOGIN_SAVER_TIMEOUT = 5000;
+
     private static final Map<String, Class<? extends Condition>> CONDITION_TYPES = new HashMap<>();
 
     private static final Map<String, Class<? extends Objective>> OBJECTIVE_TYPES = new HashMap<>();
@@ -172,6 +185,11 @@ public class BetonQuest extends JavaPlugin {
 
     private static final Map<VariableID, Variable> VARIABLES = new HashMap<>();
 
+    /**
+     * The amount of times the variables were cleared, so {@link VariableTemplate}s know when to look them up again.
+     */
+    private static final AtomicInteger VARIABLE_GENERATION = new AtomicInteger();
+
     private static final Map<String, QuestCanceler> CANCELERS = new HashMap<>();
 
     /**
@@ -193,6 +211,11 @@ public class BetonQuest extends JavaPlugin {
 
     private BetonQuestLoggerFactory loggerFactory;
 
+    /**
+     * The handlers that receive BetonQuest's log records.
+     */
+    private final HandlerLevelRegistry handlerLevels = new HandlerLevelRegistry();
+
     private BetonQuestLogger log;
 
     private String pluginTag;
@@ -215,6 +238,51 @@ public class BetonQuest extends JavaPlugin {
 
     private GlobalData globalData;
 
+    /**
+     * Cache for the data of recently quit and offline profiles.
+     */
+    private PlayerDataCache playerDataCache;
+
+    /**
+     * Engine for renaming and deleting data of all profiles.
+     */
+    private BulkMaintenance bulkMaintenance;
+
+    /**
+     * Dispatcher for player movement to the objectives that watch an area.
+     */
+    private MovementDispatcher movementDispatcher;
+
+    /**
+     * Dispatcher for Bukkit events to the objectives that handle them.
+     */
+    private ObjectiveEventDispatcher objectiveEventDispatcher;
+
+    /**
+     * Executor for work that must run on the main thread.
+     */
+    private PrimaryServerThreadExecutor primaryServerThreadExecutor;
+
+    /**
+     * Executor for conditions that are checked from other threads than the main thread.
+     */
+    private ConditionExecutor conditionExecutor;
+
+    /**
+     * Cache for the results of cacheable conditions.
+     */
+    private ConditionCache conditionCache;
+
+    /**
+     * Compiler for the lists of conditions that are checked on the main thread.
+     */
+    private final ConditionCompiler conditionCompiler = new ConditionCompiler();
+
+    /**
+     * Cache for the values of variables.
+     */
+    private VariableCache variableCache;
+
     private PlayerHider playerHider;
 
     private RPGMenu rpgMenu;
@@ -250,46 +318,49 @@ public class BetonQuest extends JavaPlugin {
     @SuppressWarnings("PMD.CognitiveComplexity")
     public static boolean conditions(final Profile profile, final ConditionID... conditionIDs) {
         if (Bukkit.isPrimaryThread()) {
+            if (profile != null && profile.getOnlineProfile().isPresent()) {
+                return getInstance().conditionCompiler.compile(conditionIDs).evaluate(profile);
+            }
             for (final ConditionID id : conditionIDs) {
                 if (!condition(profile, id)) {
                     return false;
                 }
             }
         } else {
-            final List<CompletableFuture<Boolean>> conditions = new ArrayList<>();
-            for (final ConditionID id : conditionIDs) {
-                final CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(
-                    () -> condition(profile, id));
-                conditions.add(future);
-            }
-            for (final CompletableFuture<Boolean> condition : conditions) {
-                try {
-                    if (!condition.get()) {
-                        return false;
-                    }
-                } catch (final InterruptedException | ExecutionException e) {
-                    // Currently conditions that are forced to be sync cause every CompletableFuture.get() call
-                    // to delay the check by one tick.
-                    // If this happens during a shutdown, the check will be delayed past the last tick.
-                    // This will throw a CancellationException and IllegalPluginAccessExceptions.
-                    // For Paper we can detect this and only log it to the debug getInstance().log.
-                    // When the conditions get reworked, this complete check can be removed including the Spigot message.
-                    if (PaperLib.isPaper() && Bukkit.getServer().isStopping()) {
-                        getInstance().log.debug("Exception during shutdown while checking conditions (expected):", e);
-                        return false;
-                    }
-                    if (PaperLib.isSpigot()) {
-                        getInstance().log.warn("The following exception is only ok when the server is currently stopping."
-                                               + "Switch to papermc.io to fix this.");
-                    }
-                    getInstance().log.reportException(e);
+            try {
+                return getInstance().conditionExecutor.all(profile, conditionIDs);
+            } catch (final InterruptedException | ExecutionException | CancellationException e) {
+                // Currently conditions that are forced to be sync cause every CompletableFuture.get() call
+                // to delay the check by one tick.
+                // If this happens during a shutdown, the check will be delayed past the last tick.
+                // This will throw a CancellationException and IllegalPluginAccessExceptions.
+                // For Paper we can detect this and only log it to the debug getInstance().log.
+                // When the conditions get reworked, this complete check can be removed including the Spigot message.
+                if (PaperLib.isPaper() && Bukkit.getServer().isStopping()) {
+                    getInstance().log.debug("Exception during shutdown while checking conditions (expected):", e);
                     return false;
                 }
+                if (PaperLib.isSpigot()) {
+                    getInstance().log.warn("The following exception is only ok when the server is currently stopping."
+                                           + "Switch to papermc.io to fix this.");
+                }
+                getInstance().log.reportException(e);
+                return false;
             }
         }
         return true;
     }
 
+    /**
+     * Returns the loaded condition with the given ID.
+     *
+     * @param conditionID ID of the condition
+     * @return the condition or null if there is no such condition
+     */
+    public static Condition getCondition(final ConditionID conditionID) {
+        return CONDITIONS.get(conditionID);
+    }
+
     /**
      * Checks if the condition described by conditionID is met
      *
@@ -318,13 +389,13 @@ public class BetonQuest extends JavaPlugin {
         }
         final boolean outcome;
         try {
-            outcome = condition.handle(profile);
+            outcome = getInstance().conditionCache.check(profile, condition);
         } catch (final QuestRuntimeException e) {
             getInstance().log.warn(conditionID.getPackage(), "Error while checking '" + conditionID + "' condition: " + e.getMessage(), e);
             return false;
         }
         final boolean isMet = outcome != conditionID.inverted();
-        getInstance().log.debug(conditionID.getPackage(),
+        getInstance().log.debug(conditionID.getPackage(), () ->
             (isMet ? "TRUE" : "FALSE") + ": " + (conditionID.inverted() ? "inverted" : "") + " condition "
             + conditionID + " for " + profile);
         return isMet;
@@ -348,9 +419,9 @@ public class BetonQuest extends JavaPlugin {
             return;
         }
         if (profile == null) {
-            getInstance().log.debug(eventID.getPackage(), "Firing static event " + eventID);
+            getInstance().log.debug(eventID.getPackage(), () -> "Firing static event " + eventID);
         } else {
-            getInstance().log.debug(eventID.getPackage(),
+            getInstance().log.debug(eventID.getPackage(), () ->
                 "Firing event " + eventID + " for " + profile);
         }
         try {
@@ -452,6 +523,15 @@ public class BetonQuest extends JavaPlugin {
         return null;
     }
 
+    /**
+     * Returns the current variable generation, which changes every time the variables are reloaded.
+     *
+     * @return the current variable generation
+     */
+    public static int getVariableGeneration() {
+        return VARIABLE_GENERATION.get();
+    }
+
     public static boolean isVariableType(final String type) {
         return VARIABLE_TYPES.get(type) != null;
     }
@@ -463,18 +543,10 @@ public class BetonQuest extends JavaPlugin {
      * only one occurence of this variable.
      *
      * @param text text from which the variables will be resolved
-     * @return the list of unique variable instructions
+     * @return the unmodifiable list of unique variable instructions
      */
     public static List<String> resolveVariables(final String text) {
-        final List<String> variables = new ArrayList<>();
-        final Matcher matcher = Pattern.compile("%[^ %\\s]+%").matcher(text);
-        while (matcher.find()) {
-            final String variable = matcher.group();
-            if (!variables.contains(variable)) {
-                variables.add(variable);
-            }
-        }
-        return variables;
+        return InstructionTokenizer.variables(text);
     }
 
     /**
@@ -551,7 +623,7 @@ public class BetonQuest extends JavaPlugin {
 
     @Override
     public void onLoad() {
-        final CachingBetonQuestLoggerFactory loggerFactory = new CachingBetonQuestLoggerFactory(new DefaultBetonQuestLoggerFactory());
+        final CachingBetonQuestLoggerFactory loggerFactory = new CachingBetonQuestLoggerFactory(new DefaultBetonQuestLoggerFactory(handlerLevels));
         getServer().getServicesManager().register(BetonQuestLoggerFactory.class, loggerFactory, this, ServicePriority.Lowest);
     }
 
@@ -612,15 +684,43 @@ public class BetonQuest extends JavaPlugin {
         }
 
         database.createTables();
+        database.checkQueryPlans();
 
         saver = new AsyncSaver(loggerFactory.create(AsyncSaver.class, "Database"));
         saver.start();
+        playerDataCache = new PlayerDataCache(loggerFactory.create(PlayerDataCache.class, "Database"), saver,
+                config.getInt("profiles.cache.size", 500), config.getLong("profiles.cache.idle_time", 30) * 60 * 1000);
         Backup.loadDatabaseFromBackup();
+        bulkMaintenance = new BulkMaintenance(loggerFactory.create(BulkMaintenance.class, "Database"), this, database,
+                saver, playerDataCache, getDataFolder());
+        bulkMaintenance.resume();
+
+        primaryServerThreadExecutor = new PrimaryServerThreadExecutor(getServer(), this);
+        getServer().getServicesManager().register(PrimaryServerThreadExecutor.class, primaryServerThreadExecutor, this, ServicePriority.Normal);
+        conditionExecutor = new ConditionExecutor(primaryServerThreadExecutor, Math.max(1, config.getInt("conditions.threads", 4)),
+                Math.max(1, config.getInt("conditions.queue_size", 1000)));
+        conditionCache = new ConditionCache(this, config.getLong("conditions.cache_ttl", 0));
+        final Map<String, Long> variableCacheTimes = new HashMap<>();
+        final ConfigurationSection variableCacheSection = config.getConfigurationSection("variables.cache_ttl");
+        if (variableCacheSection != null) {
+            for (final String type : variableCacheSection.getKeys(false)) {
+                variableCacheTimes.put(type, variableCacheSection.getLong(type));
+            }
+        }
+        variableCache = new VariableCache(this, config.getBoolean("variables.cache", false), variableCacheTimes);
 
         new JoinQuitListener(loggerFactory, loggerFactory.create(JoinQuitListener.class));
 
         new QuestItemHandler();
 
+        movementDispatcher = new MovementDispatcher(this);
+        objectiveEventDispatcher = new ObjectiveEventDispatcher(loggerFactory.create(ObjectiveEventDispatcher.class), this);
+        final long objectiveSaveInterval = config.getLong("objective_save_interval", 100);
+        Objective.setSaveDelayed(objectiveSaveInterval > 0);
+        if (objectiveSaveInterval > 0) {
+            getServer().getScheduler().runTaskTimer(this, Objective::saveChangedData, objectiveSaveInterval, objectiveSaveInterval);
+        }
+
         eventScheduling = new EventScheduling(loggerFactory.create(EventScheduling.class, "Schedules"), SCHEDULE_TYPES);
         lastExecutionCache = new LastExecutionCache(loggerFactory.create(LastExecutionCache.class, "Cache"), getDataFolder());
 
@@ -890,7 +990,9 @@ public class BetonQuest extends JavaPlugin {
     private void registerLogHandler(final Server server, final Handler handler) {
         final java.util.logging.Logger serverLogger = server.getLogger().getParent();
         serverLogger.addHandler(handler);
+        handlerLevels.register(handler);
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            handlerLevels.unregister(handler);
             serverLogger.removeHandler(handler);
             handler.close();
         }));
@@ -910,9 +1012,12 @@ public class BetonQuest extends JavaPlugin {
         // clear previously loaded data
         EVENTS.clear();
         CONDITIONS.clear();
+        conditionCompiler.clear();
         CONVERSATIONS.clear();
         OBJECTIVES.clear();
         VARIABLES.clear();
+        VARIABLE_GENERATION.incrementAndGet();
+        variableCache.invalidateAll();
         CANCELERS.clear();
 
         loadQuestCanceler();
@@ -1110,6 +1215,7 @@ public class BetonQuest extends JavaPlugin {
         Compatibility.reload();
         // load all events, conditions, objectives, conversations etc.
         loadData();
+        Journal.clearCache();
         // start objectives and update journals for every online profiles
         for (final Profile onlineProfile : PlayerConverter.getOnlineProfiles()) {
             getInstance().log.debug("Updating journal for player " + onlineProfile);
@@ -1143,6 +1249,19 @@ public class BetonQuest extends JavaPlugin {
             }
             onlineProfile.getPlayer().closeInventory();
         }
+        if (conditionExecutor != null) {
+            conditionExecutor.shutdown();
+        }
+        // release all threads that wait for the primary thread, as it won't run their work anymore
+        if (primaryServerThreadExecutor != null) {
+            primaryServerThreadExecutor.shutdown();
+        }
+        // save the objective progress that is not saved yet
+        Objective.saveChangedData();
+        // stop bulk operations before the database is closed
+        if (bulkMaintenance != null) {
+            bulkMaintenance.stop();
+        }
         // cancel database saver
         if (saver != null) {
             saver.end();
@@ -1150,6 +1269,7 @@ public class BetonQuest extends JavaPlugin {
         Compatibility.disable();
         if (database != null) {
             database.closeConnection();
+            database.closePool();
         }
         if (playerHider != null) {
             playerHider.stop();
@@ -1209,9 +1329,31 @@ public class BetonQuest extends JavaPlugin {
      */
     public void putPlayerData(final Profile profile, final PlayerData playerData) {
         getInstance().log.debug("Inserting data for " + profile);
+        playerDataCache.remove(profile);
         playerDataMap.put(profile, playerData);
     }
 
+    /**
+     * Loads the PlayerData of a profile that is about to come online. The data is always loaded from the database,
+     * as other servers that share the database may have changed it since it was cached. Changes of this server that
+     * are not written yet are waited for, so they are part of the loaded data.
+     * This must not be called on the main thread.
+     *
+     * @param profile the {@link Profile} of the player
+     * @return PlayerData object for the player
+     */
+    public PlayerData loadPlayerData(final Profile profile) {
+        playerDataCache.remove(profile);
+        try {
+            if (!saver.awaitFlushed(LOGIN_SAVER_TIMEOUT)) {
+                log.warn("The database saver is behind, loading the data of " + profile + " before all changes are saved");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new PlayerData(profile);
+    }
+
     /**
      * Retrieves PlayerData object for specified profile. If the playerData does
      * not exist but the profile is online, it will create new playerData on the
@@ -1229,14 +1371,102 @@ public class BetonQuest extends JavaPlugin {
         return playerData;
     }
 
+    /**
+     * Retrieves the PlayerData object for specified profile, regardless if it is online or not. The data of offline
+     * profiles is served from the {@link PlayerDataCache} and only loaded from the database on a cache miss.
+     *
+     * @param profile the {@link Profile} of the player
+     * @return PlayerData object for the player
+     */
     public PlayerData getOfflinePlayerData(final Profile profile) {
         final PlayerData playerData = getPlayerData(profile);
         if (playerData == null) {
-            return new PlayerData(profile);
+            return playerDataCache.getOrLoad(profile);
         }
         return playerData;
     }
 
+    /**
+     * Returns the cache that holds the data of recently quit and offline profiles.
+     *
+     * @return the PlayerDataCache instance
+     */
+    public PlayerDataCache getPlayerDataCache() {
+        return playerDataCache;
+    }
+
+    /**
+     * Returns the engine that renames and deletes data of all profiles.
+     *
+     * @return the BulkMaintenance instance
+     */
+    public BulkMaintenance getBulkMaintenance() {
+        return bulkMaintenance;
+    }
+
+    /**
+     * Returns the dispatcher for player movement.
+     *
+     * @return the MovementDispatcher instance
+     */
+    public MovementDispatcher getMovementDispatcher() {
+        return movementDispatcher;
+    }
+
+    /**
+     * Returns the dispatcher for Bukkit events to objectives.
+     *
+     * @return the ObjectiveEventDispatcher instance
+     */
+    public ObjectiveEventDispatcher getObjectiveEventDispatcher() {
+        return objectiveEventDispatcher;
+    }
+
+    /**
+     * Returns the executor for work that must run on the main thread.
+     *
+     * @return the PrimaryServerThreadExecutor instance
+     */
+    public PrimaryServerThreadExecutor getPrimaryServerThreadExecutor() {
+        return primaryServerThreadExecutor;
+    }
+
+    /**
+     * Returns the executor for conditions that are checked from other threads than the main thread.
+     *
+     * @return the ConditionExecutor instance
+     */
+    public ConditionExecutor getConditionExecutor() {
+        return conditionExecutor;
+    }
+
+    /**
+     * Returns the cache for the results of cacheable conditions.
+     *
+     * @return the ConditionCache instance
+     */
+    public ConditionCache getConditionCache() {
+        return conditionCache;
+    }
+
+    /**
+     * Returns the cache for the values of variables.
+     *
+     * @return the VariableCache instance
+     */
+    public VariableCache getVariableCache() {
+        return variableCache;
+    }
+
+    /**
+     * Returns the compiler for the lists of conditions that are checked on the main thread.
+     *
+     * @return the ConditionCompiler instance
+     */
+    public ConditionCompiler getConditionCompiler() {
+        return conditionCompiler;
+    }
+
     /**
      * Retrieves GlobalData object which handles all global tags and points
      *
@@ -1247,12 +1477,16 @@ public class BetonQuest extends JavaPlugin {
     }
 
     /**
-     * Removes the database playerData from the map
+     * Removes the database playerData from the map. The data is kept in the {@link PlayerDataCache}, so it can be
+     * reused for offline lookups and when the player comes back.
      *
      * @param profile the {@link Profile} of the player whose playerData is to be removed
      */
     public void removePlayerData(final Profile profile) {
-        playerDataMap.remove(profile);
+        final PlayerData playerData = playerDataMap.remove(profile);
+        if (playerData != null) {
+            playerDataCache.put(profile, playerData);
+        }
     }
 
     /**
@@ -1389,13 +1623,7 @@ public class BetonQuest extends JavaPlugin {
      * @return list of this player's active objectives
      */
     public List<Objective> getPlayerObjectives(final Profile profile) {
-        final List<Objective> list = new ArrayList<>();
-        for (final Objective objective : OBJECTIVES.values()) {
-            if (objective.containsPlayer(profile)) {
-                list.add(objective);
-            }
-        }
-        return list;
+        return Objective.getActiveObjectives(profile);
     }
 
     /**
@@ -1465,7 +1693,7 @@ public class BetonQuest extends JavaPlugin {
                 getInstance().log.warn(pack, "Variable '" + name + "' cannot be executed without a profile reference!");
                 return "";
             }
-            return var.getValue(profile);
+            return variableCache.getValue(profile, var);
         } catch (final InstructionParseException e) {
             getInstance().log.warn(pack, "&cCould not create variable '" + name + "': " + e.getMessage(), e);
             return "";
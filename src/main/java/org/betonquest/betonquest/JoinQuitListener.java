@@ -52,7 +52,7 @@ public class JoinQuitListener implements Listener {
         }
         final Profile profile = PlayerConverter.getID(Bukkit.getOfflinePlayer(event.getUniqueId()));
         final BetonQuest plugin = BetonQuest.getInstance();
-        plugin.putPlayerData(profile, new PlayerData(profile));
+        plugin.putPlayerData(profile, plugin.loadPlayerData(profile));
     }
 
     @EventHandler(ignoreCancelled = true)
@@ -92,7 +92,12 @@ public class JoinQuitListener implements Listener {
     @EventHandler
     public void onPlayerQuit(final PlayerQuitEvent event) {
         final OnlineProfile onlineProfile = PlayerConverter.getID(event.getPlayer());
+        final PlayerData playerData = BetonQuest.getInstance().getPlayerData(onlineProfile);
         for (final Objective objective : BetonQuest.getInstance().getPlayerObjectives(onlineProfile)) {
+            // keep the current progress in the cached data for offline lookups
+            if (playerData != null) {
+                playerData.addRawObjective(objective.getLabel(), objective.getData(onlineProfile));
+            }
             objective.pauseObjectiveForPlayer(onlineProfile);
         }
         BetonQuest.getInstance().removePlayerData(onlineProfile);
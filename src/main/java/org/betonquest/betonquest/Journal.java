@@ -19,6 +19,7 @@ import org.betonquest.betonquest.exceptions.QuestRuntimeException;
 import org.betonquest.betonquest.id.ConditionID;
 import org.betonquest.betonquest.utils.Utils;
 import org.betonquest.betonquest.variables.GlobalVariableResolver;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
@@ -30,19 +31,51 @@ import org.jetbrains.annotations.NotNull;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents player's journal.
  */
 @SuppressWarnings({"PMD.CommentRequired", "PMD.AvoidLiteralsInIfCondition", "PMD.CyclomaticComplexity",
-        "PMD.TooManyMethods"})
+        "PMD.TooManyMethods", "PMD.GodClass"})
 public class Journal {
+    /**
+     * The name under which regenerations of the main page are counted.
+     */
+    public static final String MAIN_PAGE = "journal_main_page";
+
+    /**
+     * Journal entry texts before their variables are resolved, by pointer and language.
+     */
+    private static final Map<String, EntryTemplate> ENTRY_TEMPLATES = new ConcurrentHashMap<>();
+
+    /**
+     * The lines of the main page of all packages sorted by priority, by language.
+     */
+    private static final Map<String, List<MainPageLine>> MAIN_PAGE_LINES = new ConcurrentHashMap<>();
+
+    /**
+     * How often each journal entry and the main page were rendered.
+     */
+    private static final Map<String, AtomicLong> REGENERATIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented every time the cache is cleared, to invalidate the rendered texts of all journals.
+     */
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
     /**
      * Custom {@link BetonQuestLogger} instance for this class.
      */
@@ -60,6 +93,26 @@ public class Journal {
 
     private String mainPage;
 
+    /**
+     * Rendered entries without variables, by pointer. Only valid for the current language and cache generation.
+     */
+    private final Map<Pointer, String> renderedEntries = new HashMap<>();
+
+    /**
+     * The rendered main page if it has neither conditions nor variables, null otherwise.
+     */
+    private String renderedMainPage;
+
+    /**
+     * The cache generation the rendered texts belong to.
+     */
+    private int cacheGeneration = GENERATION.get();
+
+    /**
+     * Whether an update is scheduled for the next tick.
+     */
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+
     /**
      * Creates new Journal instance from List of Pointers.
      *
@@ -139,6 +192,8 @@ public class Journal {
         BetonQuest.getInstance()
                 .callSyncBukkitEvent(new PlayerJournalAddEvent(profile, this, pointer));
         pointers.add(pointer);
+        BetonQuest.getInstance().getConditionCache().invalidate(profile);
+        BetonQuest.getInstance().getVariableCache().invalidate(profile);
         // SQLite doesn't accept formatted date and MySQL doesn't accept numeric
         // timestamp
         final String date = BetonQuest.getInstance().isMySQLUsed()
@@ -164,6 +219,8 @@ public class Journal {
                 BetonQuest.getInstance().getSaver()
                         .add(new Record(UpdateType.REMOVE_JOURNAL, profile.getProfileUUID().toString(), pointer.getPointer(), date));
                 pointers.remove(pointer);
+                BetonQuest.getInstance().getConditionCache().invalidate(profile);
+                BetonQuest.getInstance().getVariableCache().invalidate(profile);
                 break;
             }
         }
@@ -189,88 +246,182 @@ public class Journal {
     }
 
     /**
-     * Generates texts for every pointer and places them inside a List
+     * Generates texts for every pointer and places them inside a List.
+     * Entries without variables are only rendered once per pointer and language and reused afterwards.
      *
      * @param lang the language to use while generating text
      */
-    @SuppressWarnings({"PMD.CognitiveComplexity"})
     public void generateTexts(final String lang) {
         // remove previous texts
         texts.clear();
+        if (!Objects.equals(lang, this.lang) || cacheGeneration != GENERATION.get()) {
+            renderedEntries.clear();
+            renderedMainPage = null;
+            cacheGeneration = GENERATION.get();
+        }
         this.lang = lang;
         // generate the first page
         mainPage = generateMainPage();
+        final Map<Pointer, String> staticEntries = new HashMap<>();
         for (final Pointer pointer : pointers) {
-            // if date should not be hidden, generate the date prefix
-            String datePrefix = "";
-            if ("false".equalsIgnoreCase(config.getString("journal.hide_date"))) {
-                final String date = new SimpleDateFormat(config.getString("date_format"), Locale.ROOT)
-                        .format(pointer.getTimestamp());
-                final String[] dateParts = date.split(" ");
-                final String day = "§" + config.getString("journal_colors.date.day") + dateParts[0];
-                String hour = "";
-                if (dateParts.length > 1) {
-                    hour = "§" + config.getString("journal_colors.date.hour") + dateParts[1];
+            String text = renderedEntries.get(pointer);
+            if (text == null) {
+                final EntryTemplate template = getEntryTemplate(pointer.getPointer(), lang);
+                if (template == null) {
+                    continue;
                 }
-                datePrefix = day + " " + hour + "\n";
-            }
-            // get package and name of the pointer
-            final String[] parts = pointer.getPointer().split("\\.");
-            final String packName = parts[0];
-            final QuestPackage pack = Config.getPackages().get(packName);
-            if (pack == null) {
-                continue;
+                text = renderEntry(pointer, template);
+                countRegeneration(pointer.getPointer());
+                if (template.variables.isEmpty()) {
+                    staticEntries.put(pointer, text);
+                }
+            } else {
+                staticEntries.put(pointer, text);
             }
-            final String pointerName = parts[1];
-            // resolve the text in player's language
-            String text;
-            final ConfigurationSection journal = pack.getConfig().getConfigurationSection("journal");
-            if (journal != null && journal.contains(pointerName)) {
-                if (journal.isConfigurationSection(pointerName)) {
-                    text = pack.getFormattedString("journal." + pointerName + "." + lang);
-                    if (text == null) {
-                        text = pack.getFormattedString("journal." + pointerName + "." + Config.getLanguage());
-                    }
-                } else {
-                    text = pack.getFormattedString("journal." + pointerName);
+            // add the entry to the list
+            texts.add(text);
+        }
+        renderedEntries.clear();
+        renderedEntries.putAll(staticEntries);
+    }
+
+    /**
+     * Gets the text of the journal entry in the given language, before its variables are resolved.
+     *
+     * @param pointer the pointer to the journal entry
+     * @param lang    the language of the text
+     * @return the template of the entry or null if the package of the entry does not exist
+     */
+    private EntryTemplate getEntryTemplate(final String pointer, final String lang) {
+        final String key = pointer + "|" + lang;
+        final EntryTemplate cached = ENTRY_TEMPLATES.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // get package and name of the pointer
+        final String[] parts = pointer.split("\\.");
+        final QuestPackage pack = Config.getPackages().get(parts[0]);
+        if (pack == null) {
+            return null;
+        }
+        final String pointerName = parts[1];
+        // resolve the text in player's language
+        String text;
+        final ConfigurationSection journal = pack.getConfig().getConfigurationSection("journal");
+        if (journal != null && journal.contains(pointerName)) {
+            if (journal.isConfigurationSection(pointerName)) {
+                text = pack.getFormattedString("journal." + pointerName + "." + lang);
+                if (text == null) {
+                    text = pack.getFormattedString("journal." + pointerName + "." + Config.getLanguage());
                 }
             } else {
-                log.warn(pack, "No defined journal entry " + pointerName + " in package " + pack.getQuestPath());
-                text = "error";
+                text = pack.getFormattedString("journal." + pointerName);
             }
+        } else {
+            log.warn(pack, "No defined journal entry " + pointerName + " in package " + pack.getQuestPath());
+            text = "error";
+        }
 
-            // handle case when the text isn't defined
-            if (text == null) {
-                log.warn(pack, "No text defined for journal entry " + pointerName + " in language " + lang);
-                text = "error";
+        // handle case when the text isn't defined
+        if (text == null) {
+            log.warn(pack, "No text defined for journal entry " + pointerName + " in language " + lang);
+            text = "error";
+        }
+        final EntryTemplate template = new EntryTemplate(pack, pointerName, text, BetonQuest.resolveVariables(text));
+        ENTRY_TEMPLATES.put(key, template);
+        return template;
+    }
+
+    private String renderEntry(final Pointer pointer, final EntryTemplate template) {
+        // if date should not be hidden, generate the date prefix
+        String datePrefix = "";
+        if ("false".equalsIgnoreCase(config.getString("journal.hide_date"))) {
+            final String date = new SimpleDateFormat(config.getString("date_format"), Locale.ROOT)
+                    .format(pointer.getTimestamp());
+            final String[] dateParts = date.split(" ");
+            final String day = "§" + config.getString("journal_colors.date.day") + dateParts[0];
+            String hour = "";
+            if (dateParts.length > 1) {
+                hour = "§" + config.getString("journal_colors.date.hour") + dateParts[1];
             }
+            datePrefix = day + " " + hour + "\n";
+        }
+        // resolve variables
+        String text = template.text;
+        for (final String variable : template.variables) {
+            try {
+                BetonQuest.createVariable(template.pack, variable);
+            } catch (final InstructionParseException e) {
+                log.warn(template.pack, "Error while creating variable '" + variable + "' on journal page '" + template.pointerName + "' in "
+                        + profile + " journal: " + e.getMessage(), e);
+            }
+            text = text.replace(variable,
+                    BetonQuest.getInstance().getVariableValue(template.pack.getQuestPath(), variable, profile));
+        }
+        return datePrefix + "§" + config.getString("journal_colors.text") + text;
+    }
 
-            // resolve variables
-            for (final String variable : BetonQuest.resolveVariables(text)) {
+    /**
+     * Generates the main page for this journal.
+     * The main page is only rendered again if any of its lines has conditions or variables.
+     *
+     * @return the main page string or null, if there is no main page
+     */
+    private String generateMainPage() {
+        if (renderedMainPage != null) {
+            return renderedMainPage;
+        }
+        final List<MainPageLine> definitions = MAIN_PAGE_LINES.computeIfAbsent(lang, this::parseMainPageLines);
+        if (definitions.isEmpty()) {
+            return null;
+        }
+        countRegeneration(MAIN_PAGE);
+        boolean dynamic = false;
+        final SortedMap<Integer, List<String>> lines = new TreeMap<>(); // holds text lines with their priority
+        for (final MainPageLine definition : definitions) {
+            dynamic |= !definition.conditions.isEmpty() || !definition.variables.isEmpty();
+            // check conditions and continue loop if not met
+            if (!definition.conditions.isEmpty() && !BetonQuest.conditions(profile, definition.conditions)) {
+                continue;
+            }
+            String text = definition.text;
+            for (final String variable : definition.variables) {
                 try {
-                    BetonQuest.createVariable(pack, variable);
+                    BetonQuest.createVariable(definition.pack, variable);
                 } catch (final InstructionParseException e) {
-                    log.warn(pack, "Error while creating variable '" + variable + "' on journal page '" + pointerName + "' in "
+                    log.warn(definition.pack, "Error while creating variable '" + variable + "' on main page in "
                             + profile + " journal: " + e.getMessage(), e);
                 }
                 text = text.replace(variable,
-                        BetonQuest.getInstance().getVariableValue(packName, variable, profile));
+                        BetonQuest.getInstance().getVariableValue(definition.pack.getQuestPath(), variable, profile));
             }
-
-            // add the entry to the list
-            texts.add(datePrefix + "§" + config.getString("journal_colors.text") + text);
+            lines.computeIfAbsent(definition.priority, priority -> new ArrayList<>()).add(text + "§r"); // reset the formatting
+        }
+        if (lines.isEmpty()) {
+            return null;
         }
+        // build the string and return it
+        final List<String> sortedLines = new ArrayList<>();
+        for (final List<String> linesOrder : lines.values()) {
+            Collections.sort(linesOrder);
+            sortedLines.addAll(linesOrder);
+        }
+        final String page = StringUtils.join(sortedLines, '\n').replace('&', '§');
+        if (!dynamic) {
+            renderedMainPage = page;
+        }
+        return page;
     }
 
     /**
-     * Generates the main page for this journal.
+     * Reads the lines of the main page from all packages.
      *
-     * @return the main page string or null, if there is no main page
+     * @param lang the language of the lines
+     * @return the lines that have a priority and a text in the given language
      */
-    @SuppressWarnings({"PMD.NcssCount", "PMD.NPathComplexity", "PMD.CognitiveComplexity"})
-    private String generateMainPage() {
-        final HashMap<Integer, ArrayList<String>> lines = new HashMap<>(); // holds text lines with their priority
-        final HashSet<Integer> numbers = new HashSet<>(); // stores numbers that are used, so there's no need to search them
+    @SuppressWarnings({"PMD.CognitiveComplexity", "PMD.NPathComplexity"})
+    private List<MainPageLine> parseMainPageLines(final String lang) {
+        final List<MainPageLine> definitions = new ArrayList<>();
         for (final QuestPackage pack : Config.getPackages().values()) {
             final String packName = pack.getQuestPath();
             final ConfigurationSection section = pack.getConfig().getConfigurationSection("journal_main_page");
@@ -280,85 +431,71 @@ public class Journal {
             // handle every entry
             for (final String key : section.getKeys(false)) {
                 final int number = section.getInt(key + ".priority", -1);
-                // only add entry if the priority is set and not doubled
-                if (number >= 0) {
-                    // check conditions and continue loop if not met
-                    final String rawConditions = section.getString(key + ".conditions");
-                    if (rawConditions != null && rawConditions.length() > 0) {
-                        try {
-                            final List<ConditionID> pageConditions = new ArrayList<>();
-                            for (final String conditionString : rawConditions.split(",")) {
-                                pageConditions.add(new ConditionID(pack, conditionString));
-                            }
-
-                            if (!BetonQuest.conditions(profile, pageConditions)) {
-                                continue;
-                            }
-                        } catch (final ObjectNotFoundException e) {
-                            log.warn(pack, "Error while generating main page in " + profile + " journal: " + e.getMessage(), e);
-                            continue;
-                        }
-                    }
-                    // here conditions are met, get the text in player's language
-                    String text;
-                    if (section.isConfigurationSection(key + ".text")) {
-                        text = section.getString(key + ".text." + lang);
-                        if (text == null) {
-                            text = section.getString(key + ".text." + Config.getLanguage());
-                        }
-                        if (text == null) {
-                            text = section.getString(key + ".text.en");
+                // only add entry if the priority is set
+                if (number < 0) {
+                    log.warn(pack, "Priority of " + packName + "." + key
+                            + " journal main page line is not defined");
+                    continue;
+                }
+                final List<ConditionID> pageConditions = new ArrayList<>();
+                final String rawConditions = section.getString(key + ".conditions");
+                if (rawConditions != null && rawConditions.length() > 0) {
+                    try {
+                        for (final String conditionString : rawConditions.split(",")) {
+                            pageConditions.add(new ConditionID(pack, conditionString));
                         }
-                    } else {
-                        text = section.getString(key + ".text");
-                    }
-                    if (text == null || text.length() == 0) {
+                    } catch (final ObjectNotFoundException e) {
+                        log.warn(pack, "Error while generating main page in " + profile + " journal: " + e.getMessage(), e);
                         continue;
                     }
-                    text = GlobalVariableResolver.resolve(pack, text);
-                    for (final String variable : BetonQuest.resolveVariables(text)) {
-                        try {
-                            BetonQuest.createVariable(pack, variable);
-                        } catch (final InstructionParseException e) {
-                            log.warn(pack, "Error while creating variable '" + variable + "' on main page in "
-                                    + profile + " journal: " + e.getMessage(), e);
-                        }
-                        text = text.replace(variable,
-                                BetonQuest.getInstance().getVariableValue(packName, variable, profile));
+                }
+                // get the text in the given language
+                String text;
+                if (section.isConfigurationSection(key + ".text")) {
+                    text = section.getString(key + ".text." + lang);
+                    if (text == null) {
+                        text = section.getString(key + ".text." + Config.getLanguage());
                     }
-                    // add the text to HashMap
-                    numbers.add(number);
-                    final ArrayList<String> linesOrder;
-                    if (lines.containsKey(number)) {
-                        linesOrder = lines.get(number);
-                    } else {
-                        linesOrder = new ArrayList<>();
-                        lines.put(number, linesOrder);
+                    if (text == null) {
+                        text = section.getString(key + ".text.en");
                     }
-                    linesOrder.add(text + "§r"); // reset the formatting
                 } else {
-                    log.warn(pack, "Priority of " + packName + "." + key
-                            + " journal main page line is not defined");
+                    text = section.getString(key + ".text");
+                }
+                if (text == null || text.length() == 0) {
+                    continue;
                 }
+                text = GlobalVariableResolver.resolve(pack, text);
+                definitions.add(new MainPageLine(pack, number, pageConditions, text, BetonQuest.resolveVariables(text)));
             }
         }
-        if (numbers.isEmpty()) {
-            return null;
-        }
-        // now all lines from all packages are extracted, sort numbers
-        Integer[] sorted = new Integer[numbers.size()];
-        sorted = numbers.toArray(sorted);
-        Arrays.sort(sorted);
-        // build the string and return it
-        final ArrayList<String> sortedLines = new ArrayList<>();
-        for (final int i : sorted) {
-            final ArrayList<String> linesOrder = lines.get(i);
-            String[] sortedLinesOrder = new String[linesOrder.size()];
-            sortedLinesOrder = linesOrder.toArray(sortedLinesOrder);
-            Arrays.sort(sortedLinesOrder);
-            sortedLines.addAll(Arrays.asList(sortedLinesOrder));
-        }
-        return StringUtils.join(sortedLines, '\n').replace('&', '§');
+        return definitions;
+    }
+
+    /**
+     * Clears the cached journal texts of all players.
+     * This must be called when the packages or the configuration were reloaded.
+     */
+    public static void clearCache() {
+        ENTRY_TEMPLATES.clear();
+        MAIN_PAGE_LINES.clear();
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Gets how often each journal entry was rendered since the server started, summed up over all players.
+     * The main page is counted as {@value #MAIN_PAGE}.
+     *
+     * @return the amount of renderings by pointer
+     */
+    public static Map<String, Long> getRegenerationCounts() {
+        final Map<String, Long> counts = new HashMap<>();
+        REGENERATIONS.forEach((page, count) -> counts.put(page, count.get()));
+        return counts;
+    }
+
+    private static void countRegeneration(final String page) {
+        REGENERATIONS.computeIfAbsent(page, key -> new AtomicLong()).incrementAndGet();
     }
 
     /**
@@ -373,6 +510,7 @@ public class Journal {
      * Adds journal to player inventory.
      */
     public void addToInv() {
+        updatePending.set(false);
         final int targetSlot = getJournalSlot();
         generateTexts(lang);
         final Inventory inventory = profile.getOnlineProfile().get().getPlayer().getInventory();
@@ -467,12 +605,23 @@ public class Journal {
     }
 
     /**
-     * Updates journal by removing it and adding it again
+     * Updates journal by removing it and adding it again.
+     * All updates requested within one tick are combined into a single update on the next tick.
      */
     public void update() {
-        if (hasJournal(profile.getOnlineProfile().get())) {
-            addToInv();
+        if (!updatePending.compareAndSet(false, true)) {
+            return;
+        }
+        final BetonQuest plugin = BetonQuest.getInstance();
+        if (!plugin.isEnabled()) {
+            updatePending.set(false);
+            return;
         }
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (updatePending.getAndSet(false)) {
+                profile.getOnlineProfile().filter(Journal::hasJournal).ifPresent(onlineProfile -> addToInv());
+            }
+        });
     }
 
     /**
@@ -491,4 +640,48 @@ public class Journal {
         }
         return -1;
     }
+
+    /**
+     * The text of a journal entry in one language, before its variables are resolved.
+     */
+    private static class EntryTemplate {
+        private final QuestPackage pack;
+
+        private final String pointerName;
+
+        private final String text;
+
+        private final List<String> variables;
+
+        EntryTemplate(final QuestPackage pack, final String pointerName, final String text, final List<String> variables) {
+            this.pack = pack;
+            this.pointerName = pointerName;
+            this.text = text;
+            this.variables = variables;
+        }
+    }
+
+    /**
+     * A line of the main page in one language, before its conditions are checked and its variables are resolved.
+     */
+    private static class MainPageLine {
+        private final QuestPackage pack;
+
+        private final int priority;
+
+        private final List<ConditionID> conditions;
+
+        private final String text;
+
+        private final List<String> variables;
+
+        MainPageLine(final QuestPackage pack, final int priority, final List<ConditionID> conditions, final String text,
+                     final List<String> variables) {
+            this.pack = pack;
+            this.priority = priority;
+            this.conditions = conditions;
+            this.text = text;
+            this.variables = variables;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package org.betonquest.betonquest;
 
+import org.betonquest.betonquest.api.NumericVariable;
 import org.betonquest.betonquest.api.Variable;
 import org.betonquest.betonquest.api.config.quest.QuestPackage;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
@@ -27,6 +28,11 @@ public class VariableNumber {
      */
     private final Variable variable;
 
+    /**
+     * The {@link #variable} if it can return its value as a number, {@code null} otherwise.
+     */
+    private final NumericVariable numericVariable;
+
     /**
      * Parses the string as a variable or as a number if it's not a variable.
      *
@@ -42,6 +48,7 @@ public class VariableNumber {
             this.variable = null;
             this.number = parseAsNumber(tmp);
         }
+        this.numericVariable = variable instanceof NumericVariable ? (NumericVariable) variable : null;
     }
 
     /**
@@ -65,6 +72,7 @@ public class VariableNumber {
     public VariableNumber(final int number) {
         this.number = number;
         this.variable = null;
+        this.numericVariable = null;
     }
 
     /**
@@ -75,6 +83,7 @@ public class VariableNumber {
     public VariableNumber(final double number) {
         this.number = number;
         this.variable = null;
+        this.numericVariable = null;
     }
 
     private Variable parseAsVariable(final QuestPackage pack, final String variable) throws InstructionParseException {
@@ -124,6 +133,13 @@ public class VariableNumber {
             return number;
         } else if (profile == null && !variable.isStaticness()) {
             return 0;
+        } else if (numericVariable != null) {
+            try {
+                return numericVariable.getNumber(profile);
+            } catch (final NumberFormatException e) {
+                log.debug("Could not resolve the variable '" + variable + "' as a number; returning 0.", e);
+                return 0;
+            }
         } else {
             final String resolved = variable.getValue(profile);
             double parsed = 0;
@@ -146,6 +162,15 @@ public class VariableNumber {
         return variable == null && number < 1;
     }
 
+    /**
+     * Checks if the value is the same for every profile.
+     *
+     * @return true if no variable is set
+     */
+    public boolean isConstant() {
+        return variable == null;
+    }
+
     @Override
     public String toString() {
         return variable == null ? String.valueOf(number) : variable.toString();
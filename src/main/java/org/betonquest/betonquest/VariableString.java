@@ -4,9 +4,6 @@ import org.betonquest.betonquest.api.config.quest.QuestPackage;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Represents a string that can contain variables.
  * Makes handling instructions with variables easier.
@@ -14,19 +11,9 @@ import java.util.List;
 public class VariableString {
 
     /**
-     * The string that may contain variables.
-     */
-    private final String string;
-
-    /**
-     * The list of variables in the string.
+     * The parsed string with its variables.
      */
-    private final List<String> variables = new ArrayList<>();
-
-    /**
-     * The package in which the string is defined.
-     */
-    private final QuestPackage questPackage;
+    private final VariableTemplate template;
 
     /**
      * Creates a new VariableString.<br>
@@ -51,24 +38,10 @@ public class VariableString {
      * @throws InstructionParseException if the variables could not be created
      */
     public VariableString(final QuestPackage questPackage, final String string, final boolean replaceUnderscores) throws InstructionParseException {
-        this.questPackage = questPackage;
-
         if (replaceUnderscores) {
-            this.string = string.replaceAll("(?<!\\\\)_", " ").replaceAll("\\\\_", "_");
+            this.template = VariableTemplate.compile(questPackage, string.replaceAll("(?<!\\\\)_", " ").replaceAll("\\\\_", "_"));
         } else {
-            this.string = string;
-        }
-
-        for (final String variable : BetonQuest.resolveVariables(this.string)) {
-            try {
-                BetonQuest.createVariable(questPackage, variable);
-            } catch (final InstructionParseException exception) {
-                throw new InstructionParseException("Could not create '" + variable + "' variable: "
-                        + exception.getMessage(), exception);
-            }
-            if (!variables.contains(variable)) {
-                variables.add(variable);
-            }
+            this.template = VariableTemplate.compile(questPackage, string);
         }
     }
 
@@ -79,12 +52,7 @@ public class VariableString {
      * @return the string with all variables resolved
      */
     public String getString(final Profile profile) {
-        String resolvedString = string;
-        for (final String variable : variables) {
-            final String resolvedVariable = BetonQuest.getInstance().getVariableValue(questPackage.getQuestPath(), variable, profile);
-            resolvedString = resolvedString.replace(variable, resolvedVariable);
-        }
-        return resolvedString;
+        return template.resolve(profile);
     }
 
     /**
@@ -93,6 +61,6 @@ public class VariableString {
      * @return true if the string contains variables
      */
     public boolean containsVariables() {
-        return !variables.isEmpty();
+        return template.containsVariables();
     }
 }
@@ -0,0 +1,173 @@
+package org.betonquest.betonquest;
+
+import org.betonquest.betonquest.api.Variable;
+import org.betonquest.betonquest.api.config.quest.QuestPackage;
+import org.betonquest.betonquest.api.logger.BetonQuestLogger;
+import org.betonquest.betonquest.api.profiles.Profile;
+import org.betonquest.betonquest.exceptions.InstructionParseException;
+import org.betonquest.betonquest.utils.InstructionTokenizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A string with variables that is parsed only once.
+ * <p>
+ * The string is split into the literal text and the variables between it, and the variables are looked up once.
+ * Resolving the string then only asks the variables for their values and appends everything in one pass.
+ * When the variables are reloaded, they are looked up again on the next use.
+ */
+public final class VariableTemplate {
+    /**
+     * Custom {@link BetonQuestLogger} instance for this class.
+     */
+    private static final BetonQuestLogger LOG = BetonQuest.getInstance().getLoggerFactory().create(VariableTemplate.class);
+
+    /**
+     * The package in which the string is defined.
+     */
+    private final QuestPackage questPackage;
+
+    /**
+     * The literal text before, between and after the variables.
+     */
+    private final String[] literals;
+
+    /**
+     * The instructions of the variables, including the % characters.
+     */
+    private final String[] names;
+
+    /**
+     * The length of the literal text.
+     */
+    private final int literalLength;
+
+    /**
+     * The variables as they were looked up for the current variable generation.
+     */
+    private volatile Binding binding;
+
+    private VariableTemplate(final QuestPackage questPackage, final List<String> literals, final List<String> names) {
+        this.questPackage = questPackage;
+        this.literals = literals.toArray(new String[0]);
+        this.names = names.toArray(new String[0]);
+        int length = 0;
+        for (final String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses the string and creates all variables in it.
+     *
+     * @param questPackage the package in which the string is used
+     * @param string       the string that may contain variables
+     * @return the parsed string
+     * @throws InstructionParseException if a variable could not be created
+     */
+    public static VariableTemplate compile(final QuestPackage questPackage, final String string) throws InstructionParseException {
+        final List<String> literals = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        int start = 0;
+        int candidate = string.indexOf('%');
+        while (candidate >= 0) {
+            final int end = InstructionTokenizer.variableEnd(string, candidate);
+            if (end < 0) {
+                candidate = string.indexOf('%', candidate + 1);
+            } else {
+                literals.add(string.substring(start, candidate));
+                names.add(string.substring(candidate, end));
+                start = end;
+                candidate = string.indexOf('%', end);
+            }
+        }
+        literals.add(string.substring(start));
+        final VariableTemplate template = new VariableTemplate(questPackage, literals, names);
+        final int generation = BetonQuest.getVariableGeneration();
+        final Variable[] variables = new Variable[names.size()];
+        for (int i = 0; i < variables.length; i++) {
+            try {
+                variables[i] = BetonQuest.createVariable(questPackage, template.names[i]);
+            } catch (final InstructionParseException exception) {
+                throw new InstructionParseException("Could not create '" + template.names[i] + "' variable: "
+                        + exception.getMessage(), exception);
+            }
+        }
+        template.binding = new Binding(generation, variables);
+        return template;
+    }
+
+    /**
+     * Resolves all variables in the string and returns the result.
+     *
+     * @param profile the profile of the player to resolve the variables for
+     * @return the string with all variables resolved
+     */
+    public String resolve(final Profile profile) {
+        if (names.length == 0) {
+            return literals[0];
+        }
+        final Variable[] variables = getVariables();
+        final StringBuilder builder = new StringBuilder(literalLength + names.length * 16);
+        builder.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            builder.append(value(variables[i], names[i], profile)).append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns true if the string contains variables.
+     *
+     * @return true if the string contains variables
+     */
+    public boolean containsVariables() {
+        return names.length > 0;
+    }
+
+    private String value(final Variable variable, final String name, final Profile profile) {
+        if (variable == null) {
+            LOG.warn(questPackage, "Could not resolve variable '" + name + "'.");
+            return "";
+        }
+        if (profile == null && !variable.isStaticness()) {
+            LOG.warn(questPackage, "Variable '" + name + "' cannot be executed without a profile reference!");
+            return "";
+        }
+        return BetonQuest.getInstance().getVariableCache().getValue(profile, variable);
+    }
+
+    private Variable[] getVariables() {
+        final int generation = BetonQuest.getVariableGeneration();
+        final Binding current = binding;
+        if (current.generation == generation) {
+            return current.variables;
+        }
+        final Variable[] variables = new Variable[names.length];
+        for (int i = 0; i < variables.length; i++) {
+            try {
+                variables[i] = BetonQuest.createVariable(questPackage, names[i]);
+            } catch (final InstructionParseException e) {
+                LOG.warn(questPackage, "&cCould not create variable '" + names[i] + "': " + e.getMessage(), e);
+            }
+        }
+        binding = new Binding(generation, variables);
+        return variables;
+    }
+
+    /**
+     * The variables of a template for one variable generation.
+     */
+    private static final class Binding {
+        private final int generation;
+
+        private final Variable[] variables;
+
+        private Binding(final int generation, final Variable... variables) {
+            this.generation = generation;
+            this.variables = variables;
+        }
+    }
+}
@@ -36,6 +36,14 @@ public abstract class Condition extends ForceSyncHandler<Boolean> {
      */
     protected boolean persistent;
 
+    /**
+     * If a condition is cacheable its result can be reused for the same
+     * profile for a few ticks. It must only depend on data that invalidates
+     * the cache when it changes, like tags, points, journal entries and
+     * objectives.
+     */
+    protected boolean cacheable;
+
     /**
      * Creates new instance of the condition. The condition should parse
      * instruction string at this point and extract all the data from it. If
@@ -74,6 +82,15 @@ public abstract class Condition extends ForceSyncHandler<Boolean> {
         return persistent;
     }
 
+    /**
+     * @return if the condition is cacheable or not. The result of a cacheable
+     * condition can be reused for the same {@link Profile} until the tags,
+     * points, journal or objectives of the profile change.
+     */
+    public final boolean isCacheable() {
+        return cacheable;
+    }
+
     /**
      * This method should contain all logic for the condition and use data
      * parsed by the constructor. Don't worry about inverting the condition,
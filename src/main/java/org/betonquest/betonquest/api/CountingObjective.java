@@ -74,7 +74,17 @@ public abstract class CountingObjective extends Objective {
 
     @Override
     public String getProperty(final String name, final Profile profile) {
+        final Integer data = getCountingProperty(name, profile);
+        return data == null ? "" : data.toString();
+    }
+
+    @Override
+    public double getNumberProperty(final String name, final Profile profile) {
+        final Integer data = getCountingProperty(name, profile);
+        return data == null ? super.getNumberProperty(name, profile) : data;
+    }
 
+    private Integer getCountingProperty(final String name, final Profile profile) {
         final Integer data;
         switch (name.toLowerCase(Locale.ROOT)) {
             case "amount":
@@ -99,7 +109,7 @@ public abstract class CountingObjective extends Objective {
                 data = null;
                 break;
         }
-        return data == null ? "" : data.toString();
+        return data;
     }
 
     /**
@@ -4,9 +4,8 @@ import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.exceptions.QuestRuntimeException;
 import org.bukkit.Bukkit;
-import org.bukkit.plugin.Plugin;
 
-import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -32,6 +31,13 @@ public abstract class ForceSyncHandler<T> {
         this.forceSync = forceSync;
     }
 
+    /**
+     * @return if {@link ForceSyncHandler#execute(Profile)} is always run on the servers main thread
+     */
+    public final boolean isForceSync() {
+        return forceSync;
+    }
+
     /**
      * This methods implementation will be executed by the {@link ForceSyncHandler#handle(Profile)} method.
      *
@@ -49,16 +55,17 @@ public abstract class ForceSyncHandler<T> {
      * @param profile the {@link Profile} the event is handled for
      * @return {@link ForceSyncHandler#execute(Profile)}'s return value.
      * @throws QuestRuntimeException Either the QRE from the implemented {@link ForceSyncHandler#execute(Profile)}
-     *                               or from {@link ForceSyncHandler#handle(Profile)}'s
-     *                               {@link org.bukkit.scheduler.BukkitScheduler#callSyncMethod(Plugin, Callable)} call.
+     *                               or from waiting for the servers main thread.
      */
     public T handle(final Profile profile) throws QuestRuntimeException {
         if (forceSync && !Bukkit.isPrimaryThread()) {
-            final Future<T> returnFuture = Bukkit.getScheduler().callSyncMethod(BetonQuest.getInstance(), () -> execute(profile));
+            final Future<T> returnFuture = BetonQuest.getInstance().getPrimaryServerThreadExecutor().submit(() -> execute(profile));
             try {
                 return returnFuture.get();
             } catch (final InterruptedException e) {
                 throw new QuestRuntimeException("Thread was Interrupted!", e);
+            } catch (final CancellationException e) {
+                throw new QuestRuntimeException("The plugin was disabled before the main thread ran this!", e);
             } catch (final ExecutionException e) {
                 if (e.getCause() instanceof QuestRuntimeException) {
                     throw (QuestRuntimeException) e.getCause();
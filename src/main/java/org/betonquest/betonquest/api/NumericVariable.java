@@ -0,0 +1,21 @@
+package org.betonquest.betonquest.api;
+
+import org.betonquest.betonquest.api.profiles.Profile;
+
+/**
+ * A {@link Variable} whose value can be a number. Such variables return the number directly, so places that need a
+ * number don't have to format the value as a string and parse it again.
+ * <p>
+ * The number must be the same as parsing the string returned by {@link Variable#getValue(Profile)} with
+ * {@link Double#parseDouble(String)}.
+ */
+public interface NumericVariable {
+    /**
+     * This method should return the resolved value of the variable for the given profile as a number.
+     *
+     * @param profile the {@link Profile} to get the value for
+     * @return the value of this variable
+     * @throws NumberFormatException if the value of the variable is not a number
+     */
+    double getNumber(Profile profile);
+}
@@ -3,6 +3,7 @@ package org.betonquest.betonquest.api;
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.GlobalObjectives;
 import org.betonquest.betonquest.Instruction;
+import org.betonquest.betonquest.api.config.quest.QuestPackage;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
 import org.betonquest.betonquest.api.profiles.OnlineProfile;
 import org.betonquest.betonquest.api.profiles.Profile;
@@ -18,10 +19,16 @@ import org.betonquest.betonquest.id.ObjectiveID;
 import org.bukkit.Server;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * <p>
@@ -36,6 +43,26 @@ import java.util.Optional;
  */
 @SuppressWarnings({"PMD.CommentRequired", "PMD.AvoidLiteralsInIfCondition", "PMD.TooManyMethods", "PMD.GodClass"})
 public abstract class Objective {
+    /**
+     * The active objectives of every profile, so they can be found without checking all objectives.
+     */
+    private static final Map<Profile, Set<Objective>> ACTIVE_OBJECTIVES = new ConcurrentHashMap<>();
+
+    /**
+     * The amount of starts and stops that had to wait for another thread, by objective type.
+     */
+    private static final Map<Class<? extends Objective>, LongAdder> CONTENDED_TRANSITIONS = new ConcurrentHashMap<>();
+
+    /**
+     * The objective data that changed since it was saved the last time.
+     */
+    private static final Set<ObjectiveData> CHANGED_DATA = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether changed objective data is saved by {@link #saveChangedData()} instead of immediately.
+     */
+    private static volatile boolean saveDelayed;
+
     protected final int notifyInterval;
 
     protected final boolean notify;
@@ -59,8 +86,15 @@ public abstract class Objective {
 
     /**
      * Contains all data objects of the profiles with this objective active.
+     * Reads never block and see every completed start and stop. Starts and stops are serialized by
+     * {@link #transitionLock}, so {@link #start()} and {@link #stop()} are called exactly once per activity period.
      */
-    protected Map<Profile, ObjectiveData> dataMap = new HashMap<>();
+    protected Map<Profile, ObjectiveData> dataMap = new ConcurrentHashMap<>();
+
+    /**
+     * Lock for starting and stopping the objective for profiles.
+     */
+    private final ReentrantLock transitionLock = new ReentrantLock();
 
     /**
      * Should be set to the data class used to hold the objective specific information.
@@ -186,6 +220,21 @@ public abstract class Objective {
      */
     public abstract String getProperty(String name, Profile profile);
 
+    /**
+     * This method returns the property with the given name as a number. By
+     * default, it parses the value returned by {@link #getProperty(String, Profile)};
+     * objectives with numeric properties can override it to return them
+     * without formatting and parsing them.
+     *
+     * @param name    the name of the property you need to return
+     * @param profile the {@link Profile} for which the property is to be returned
+     * @return the property with given name
+     * @throws NumberFormatException if the property is not a number
+     */
+    public double getNumberProperty(final String name, final Profile profile) {
+        return Double.parseDouble(getProperty(name, profile));
+    }
+
     /**
      * This method fires events for the objective and removes it from the profile's
      * list of active objectives. Use it when you detect that the objective has
@@ -200,14 +249,14 @@ public abstract class Objective {
             BetonQuest.getInstance().getPlayerData(profile).addNewRawObjective((ObjectiveID) instruction.getID());
             createObjectiveForPlayer(profile, getDefaultDataInstruction(profile));
         }
-        log.debug(instruction.getPackage(),
+        log.debug(instruction.getPackage(), () ->
                 "Objective \"" + instruction.getID().getFullID() + "\" has been completed for "
                         + profile + ", firing events.");
         // fire all events
         for (final EventID event : events) {
             BetonQuest.event(profile, event);
         }
-        log.debug(instruction.getPackage(),
+        log.debug(instruction.getPackage(), () ->
                 "Firing events in objective \"" + instruction.getID().getFullID() + "\" for "
                         + profile + " finished");
     }
@@ -221,7 +270,7 @@ public abstract class Objective {
      * @return if all conditions of this objective has been met
      */
     public final boolean checkConditions(final Profile profile) {
-        log.debug(instruction.getPackage(), "Condition check in \"" + instruction.getID().getFullID()
+        log.debug(instruction.getPackage(), () -> "Condition check in \"" + instruction.getID().getFullID()
                 + "\" objective for " + profile);
         return BetonQuest.conditions(profile, conditions);
     }
@@ -291,10 +340,12 @@ public abstract class Objective {
      * @param previousState     the objective's previous state
      */
     public final void startObjective(final Profile profile, final String instructionString, final ObjectiveState previousState) {
-
-        synchronized (this) {
+        lockTransition();
+        try {
             createObjectiveData(profile, instructionString)
                     .ifPresent(data -> startObjectiveWithEvent(profile, data, previousState));
+        } finally {
+            transitionLock.unlock();
         }
     }
 
@@ -373,11 +424,32 @@ public abstract class Objective {
      * @param newState the objective's new state
      */
     public final void stopObjective(final Profile profile, final ObjectiveState newState) {
-        synchronized (this) {
+        lockTransition();
+        try {
             stopObjectiveWithEvent(profile, newState);
+        } finally {
+            transitionLock.unlock();
         }
     }
 
+    private void lockTransition() {
+        if (!transitionLock.tryLock()) {
+            CONTENDED_TRANSITIONS.computeIfAbsent(getClass(), type -> new LongAdder()).increment();
+            transitionLock.lock();
+        }
+    }
+
+    /**
+     * Returns how often starting or stopping an objective had to wait for another thread, by objective type.
+     *
+     * @return the amount of contended starts and stops by the simple class name of the objective
+     */
+    public static Map<String, Long> getContendedTransitions() {
+        final Map<String, Long> result = new HashMap<>();
+        CONTENDED_TRANSITIONS.forEach((type, count) -> result.put(type.getSimpleName(), count.sum()));
+        return result;
+    }
+
     private void stopObjectiveWithEvent(final Profile profile, final ObjectiveState newState) {
         runObjectiveChangeEvent(profile, ObjectiveState.ACTIVE, newState);
         deactivateObjective(profile);
@@ -393,17 +465,69 @@ public abstract class Objective {
             start();
         }
         dataMap.put(profile, data);
+        ACTIVE_OBJECTIVES.computeIfAbsent(profile, key -> ConcurrentHashMap.newKeySet()).add(this);
+        BetonQuest.getInstance().getConditionCache().invalidate(profile);
+        BetonQuest.getInstance().getVariableCache().invalidate(profile);
         start(profile);
     }
 
     private void deactivateObjective(final Profile profile) {
         stop(profile);
-        dataMap.remove(profile);
+        final ObjectiveData data = dataMap.remove(profile);
+        if (data != null && CHANGED_DATA.remove(data)) {
+            data.save();
+        }
+        unindex(profile);
+        BetonQuest.getInstance().getConditionCache().invalidate(profile);
+        BetonQuest.getInstance().getVariableCache().invalidate(profile);
         if (dataMap.isEmpty()) {
             stop();
         }
     }
 
+    private void unindex(final Profile profile) {
+        ACTIVE_OBJECTIVES.computeIfPresent(profile, (key, objectives) -> {
+            objectives.remove(this);
+            return objectives.isEmpty() ? null : objectives;
+        });
+    }
+
+    /**
+     * Sets whether changed objective data is collected and saved by {@link #saveChangedData()}, or immediately on
+     * every change. Data of an objective that is stopped is always saved right away.
+     *
+     * @param delayed true to save changed data only when {@link #saveChangedData()} is called
+     */
+    public static void setSaveDelayed(final boolean delayed) {
+        saveDelayed = delayed;
+        if (!delayed) {
+            saveChangedData();
+        }
+    }
+
+    /**
+     * Saves all objective data that changed since it was saved the last time.
+     */
+    public static void saveChangedData() {
+        for (final ObjectiveData data : new ArrayList<>(CHANGED_DATA)) {
+            if (CHANGED_DATA.remove(data)) {
+                data.save();
+            }
+        }
+    }
+
+    /**
+     * Returns the objectives that are active for the profile.
+     * This only depends on the amount of objectives of the profile, not on the amount of loaded objectives.
+     *
+     * @param profile the {@link Profile} to get the objectives for
+     * @return a snapshot of the active objectives
+     */
+    public static List<Objective> getActiveObjectives(final Profile profile) {
+        final Set<Objective> objectives = ACTIVE_OBJECTIVES.get(profile);
+        return objectives == null ? new ArrayList<>() : new ArrayList<>(objectives);
+    }
+
     /**
      * Checks if the profile has this objective.
      *
@@ -438,6 +562,15 @@ public abstract class Objective {
         return instruction.getID().getFullID();
     }
 
+    /**
+     * Returns the package this objective is defined in.
+     *
+     * @return the package of the objective
+     */
+    public final QuestPackage getPackage() {
+        return instruction.getPackage();
+    }
+
     /**
      * Sets the label of this objective. Don't worry about it, it's only used by
      * the rest of BetonQuest's logic.
@@ -458,6 +591,10 @@ public abstract class Objective {
         for (final Map.Entry<Profile, ObjectiveData> entry : dataMap.entrySet()) {
             final Profile profile = entry.getKey();
             stop(profile);
+            unindex(profile);
+            if (CHANGED_DATA.remove(entry.getValue())) {
+                entry.getValue().save();
+            }
             BetonQuest.getInstance().getPlayerData(profile).addRawObjective(instruction.getID().getFullID(),
                     entry.getValue().toString());
         }
@@ -563,15 +700,35 @@ public abstract class Objective {
          * leave the server. However, if someone leaves before completing, they
          * will have to start this objective from scratch.
          * </p>
+         *
+         * <p>
+         * Unless configured otherwise, the changes are not saved immediately,
+         * but together with all other changes of the same interval, so calling
+         * this on every small change is cheap.
+         * </p>
          */
         @SuppressWarnings("PMD.DoNotUseThreads")
         protected void update() {
-            final Saver saver = BetonQuest.getInstance().getSaver();
-            saver.add(new Saver.Record(UpdateType.REMOVE_OBJECTIVES, profile.getProfileUUID().toString(), objID));
-            saver.add(new Saver.Record(UpdateType.ADD_OBJECTIVES, profile.getProfileUUID().toString(), objID, toString()));
             final QuestDataUpdateEvent event = new QuestDataUpdateEvent(profile, objID, toString());
             final Server server = BetonQuest.getInstance().getServer();
             server.getScheduler().runTask(BetonQuest.getInstance(), () -> server.getPluginManager().callEvent(event));
+            // the event is called later, but the variables must not show the old data until then
+            BetonQuest.getInstance().getVariableCache().invalidate(profile);
+            if (saveDelayed) {
+                CHANGED_DATA.add(this);
+            } else {
+                save();
+            }
+        }
+
+        /**
+         * Saves the data to the database, updating the existing row instead of
+         * deleting and inserting it.
+         */
+        private void save() {
+            final Saver saver = BetonQuest.getInstance().getSaver();
+            final String profileID = profile.getProfileUUID().toString();
+            saver.add(new Saver.Record(UpdateType.SAVE_OBJECTIVES, profileID, objID, toString()));
             // update the journal so all possible variables display correct
             // information
             BetonQuest.getInstance().getPlayerData(profile).getJournal().update();
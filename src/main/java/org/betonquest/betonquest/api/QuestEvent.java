@@ -131,10 +131,10 @@ public abstract class QuestEvent extends ForceSyncHandler<Void> {
         log.debug(instruction.getPackage(), "Static event will be fired once for every online profile:");
         for (final OnlineProfile onlineProfile : PlayerConverter.getOnlineProfiles()) {
             if (!BetonQuest.conditions(onlineProfile, conditions)) {
-                log.debug(instruction.getPackage(), "Event conditions were not met for " + onlineProfile);
+                log.debug(instruction.getPackage(), () -> "Event conditions were not met for " + onlineProfile);
                 return;
             }
-            log.debug(instruction.getPackage(), "Firing this static event for " + onlineProfile);
+            log.debug(instruction.getPackage(), () -> "Firing this static event for " + onlineProfile);
             handle(onlineProfile);
         }
     }
@@ -144,13 +144,13 @@ public abstract class QuestEvent extends ForceSyncHandler<Void> {
             log.debug(instruction.getPackage(), "Persistent event will be fired for offline profile.");
             handle(profile);
         } else {
-            log.debug(instruction.getPackage(), profile + " is offline, cannot fire event because it's not persistent.");
+            log.debug(instruction.getPackage(), () -> profile + " is offline, cannot fire event because it's not persistent.");
         }
     }
 
     private void handleOnlineProfile(final Profile profile) throws QuestRuntimeException {
         if (!BetonQuest.conditions(profile, conditions)) {
-            log.debug(instruction.getPackage(), "Event conditions were not met for " + profile);
+            log.debug(instruction.getPackage(), () -> "Event conditions were not met for " + profile);
             return;
         }
         handle(profile);
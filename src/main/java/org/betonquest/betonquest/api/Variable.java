@@ -20,6 +20,14 @@ public abstract class Variable {
      */
     protected boolean staticness;
 
+    /**
+     * A variable marked as cacheable only depends on data that invalidates the
+     * variable cache when it changes, like tags, points, journal entries,
+     * objectives and the language of the profile. Its value can then be reused
+     * until that data changes.
+     */
+    protected boolean cacheable;
+
     /**
      * Creates new instance of the variable. The variable should parse the
      * instruction string at this point and extract all the data from it. If
@@ -52,6 +60,16 @@ public abstract class Variable {
         return staticness;
     }
 
+    /**
+     * Get the cacheability of a variable. Variables that only know if they are
+     * cacheable once the objects they refer to are loaded can override this.
+     *
+     * @return The cacheability
+     */
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
     /**
      * This method should return a resolved value of variable for given profile.
      *
@@ -4,6 +4,7 @@ import org.betonquest.betonquest.api.config.quest.QuestPackage;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginLogger;
 
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 /**
@@ -71,6 +72,50 @@ public interface BetonQuestLogger {
      */
     void debug(QuestPackage pack, String msg, Throwable thrown);
 
+    /**
+     * Checks if debug messages are currently logged anywhere.
+     * <p>
+     * Use this to skip work that is only needed to build debug messages.
+     * Loggers that can't tell always return true.
+     *
+     * @return true if a debug message would be logged
+     */
+    default boolean isDebugEnabled() {
+        return true;
+    }
+
+    /**
+     * Logs a debug message with the {@link Level#FINE} level to the log.
+     * The message is only built if {@link BetonQuestLogger#isDebugEnabled()}.
+     * <p>
+     * Use this for debug messages in code that runs very often, like checking conditions and firing events.
+     * <p>
+     * Don't use this method, if you can provide a {@link QuestPackage}.
+     * Use {@link BetonQuestLogger#debug(QuestPackage, Supplier)} instead.
+     *
+     * @param msg The supplier of the message to log.
+     */
+    default void debug(final Supplier<String> msg) {
+        if (isDebugEnabled()) {
+            debug(msg.get());
+        }
+    }
+
+    /**
+     * Logs a debug message with the {@link Level#FINE} level to the log.
+     * The message is only built if {@link BetonQuestLogger#isDebugEnabled()}.
+     * <p>
+     * Use this for debug messages in code that runs very often, like checking conditions and firing events.
+     *
+     * @param pack The related {@link QuestPackage} or null.
+     * @param msg  The supplier of the message to log.
+     */
+    default void debug(final QuestPackage pack, final Supplier<String> msg) {
+        if (isDebugEnabled()) {
+            debug(pack, msg.get());
+        }
+    }
+
     /**
      * Logs a normal message with the {@link Level#INFO} level to the log.
      * <p>
@@ -22,10 +22,11 @@ import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.api.quest.event.Event;
 import org.betonquest.betonquest.compatibility.Compatibility;
 import org.betonquest.betonquest.config.Config;
+import org.betonquest.betonquest.database.AsyncSaver;
+import org.betonquest.betonquest.database.BulkMaintenance;
 import org.betonquest.betonquest.database.GlobalData;
 import org.betonquest.betonquest.database.PlayerData;
-import org.betonquest.betonquest.database.Saver.Record;
-import org.betonquest.betonquest.database.UpdateType;
+import org.betonquest.betonquest.database.PlayerDataCache;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
 import org.betonquest.betonquest.exceptions.ObjectNotFoundException;
 import org.betonquest.betonquest.exceptions.QuestRuntimeException;
@@ -34,10 +35,14 @@ import org.betonquest.betonquest.id.EventID;
 import org.betonquest.betonquest.id.ItemID;
 import org.betonquest.betonquest.id.ObjectiveID;
 import org.betonquest.betonquest.item.QuestItem;
+import org.betonquest.betonquest.modules.condition.ConditionCache;
+import org.betonquest.betonquest.modules.condition.ConditionExecutor;
 import org.betonquest.betonquest.modules.logger.BetonQuestLogRecord;
 import org.betonquest.betonquest.modules.logger.PlayerLogWatcher;
 import org.betonquest.betonquest.modules.logger.format.ChatFormatter;
 import org.betonquest.betonquest.modules.logger.handler.history.LogPublishingController;
+import org.betonquest.betonquest.modules.movement.MovementDispatcher;
+import org.betonquest.betonquest.modules.thread.PrimaryServerThreadExecutor;
 import org.betonquest.betonquest.modules.web.downloader.DownloadFailedException;
 import org.betonquest.betonquest.modules.web.downloader.Downloader;
 import org.betonquest.betonquest.modules.web.updater.Updater;
@@ -78,6 +83,7 @@ import java.util.Set;
 import java.util.StringJoiner;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -527,7 +533,7 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
         // list
         if (playerData == null) {
             log.debug("Profile is offline, loading his data");
-            playerData = new PlayerData(profile);
+            playerData = instance.getOfflinePlayerData(profile);
         }
         // purge the player
         log.debug("Purging player " + args[1]);
@@ -559,7 +565,7 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
         // list
         if (playerData == null) {
             log.debug("Profile is offline, loading his data");
-            playerData = new PlayerData(profile);
+            playerData = instance.getOfflinePlayerData(profile);
         }
         final Journal journal = playerData.getJournal();
         // if there are no arguments then list player's pointers
@@ -661,7 +667,7 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
         // list
         if (playerData == null) {
             log.debug("Profile is offline, loading his data");
-            playerData = new PlayerData(profile);
+            playerData = instance.getOfflinePlayerData(profile);
         }
         // if there are no arguments then list player's points
         if (args.length < 3 || "list".equalsIgnoreCase(args[2]) || "l".equalsIgnoreCase(args[2])) {
@@ -993,7 +999,7 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
         // list
         if (playerData == null) {
             log.debug("Profile is offline, loading his data");
-            playerData = new PlayerData(profile);
+            playerData = instance.getOfflinePlayerData(profile);
         }
         // if there are no arguments then list player's tags
         if (args.length < 3 || "list".equalsIgnoreCase(args[2]) || "l".equalsIgnoreCase(args[2])) {
@@ -1149,7 +1155,7 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
         // if the player is offline then get his PlayerData outside the list
         if (playerData == null) {
             log.debug("Profile is offline, loading his data");
-            playerData = new PlayerData(profile);
+            playerData = instance.getOfflinePlayerData(profile);
         }
         // if there are no arguments then list player's objectives
         if (args.length < 3 || "list".equalsIgnoreCase(args[2]) || "l".equalsIgnoreCase(args[2])) {
@@ -1273,55 +1279,37 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
         final String type = args[1].toLowerCase(Locale.ROOT);
         final String name = args[2];
         final String rename = args[3];
-        final UpdateType updateType;
+        final BulkMaintenance.Operation operation;
         switch (type) {
             case "tags":
             case "tag":
             case "t":
-                updateType = UpdateType.RENAME_ALL_TAGS;
-                for (final Profile onlineProfile : PlayerConverter.getOnlineProfiles()) {
-                    final PlayerData playerData = BetonQuest.getInstance().getPlayerData(onlineProfile);
-                    playerData.removeTag(name);
-                    playerData.addTag(rename);
-                }
+                operation = BulkMaintenance.Operation.RENAME_TAGS;
                 break;
             case "points":
             case "point":
             case "p":
-                updateType = UpdateType.RENAME_ALL_POINTS;
-                for (final Profile onlineProfile : PlayerConverter.getOnlineProfiles()) {
-                    final PlayerData playerData = BetonQuest.getInstance().getPlayerData(onlineProfile);
-                    int points = 0;
-                    for (final Point point : playerData.getPoints()) {
-                        if (point.getCategory().equals(name)) {
-                            points = point.getCount();
-                            break;
-                        }
-                    }
-                    playerData.removePointsCategory(name);
-                    playerData.modifyPoints(rename, points);
-                }
+                operation = BulkMaintenance.Operation.RENAME_POINTS;
                 break;
             case "globalpoints":
             case "globalpoint":
             case "gpoints":
             case "gpoint":
             case "gp":
-                updateType = UpdateType.RENAME_ALL_GLOBAL_POINTS;
-                int globalpoints = 0;
-                for (final Point globalpoint : BetonQuest.getInstance().getGlobalData().getPoints()) {
-                    if (globalpoint.getCategory().equals(name)) {
-                        globalpoints = globalpoint.getCount();
-                        break;
-                    }
+                // same as the points of profiles: the category is matched ignoring its case, and renaming merges
+                // it into an existing category; the global data writes both rows itself
+                final GlobalData globalData = BetonQuest.getInstance().getGlobalData();
+                final Optional<Point> globalpoint = globalData.getPoint(name);
+                if (globalpoint.isPresent()) {
+                    globalData.removePointsCategory(name);
+                    globalData.modifyPoints(rename, globalpoint.get().getCount());
                 }
-                BetonQuest.getInstance().getGlobalData().removePointsCategory(name);
-                BetonQuest.getInstance().getGlobalData().modifyPoints(rename, globalpoints);
-                break;
+                sendMessage(sender, "everything_renamed");
+                return;
             case "objectives":
             case "objective":
             case "o":
-                updateType = UpdateType.RENAME_ALL_OBJECTIVES;
+                operation = BulkMaintenance.Operation.RENAME_OBJECTIVES;
                 // get ID and package
                 final ObjectiveID nameID;
                 try {
@@ -1390,30 +1378,17 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
             case "entries":
             case "entry":
             case "e":
-                updateType = UpdateType.RENAME_ALL_ENTRIES;
-                for (final Profile onlineProfile : PlayerConverter.getOnlineProfiles()) {
-                    final Journal journal = BetonQuest.getInstance().getPlayerData(onlineProfile).getJournal();
-                    Pointer journalPointer = null;
-                    for (final Pointer pointer : journal.getPointers()) {
-                        if (pointer.getPointer().equals(name)) {
-                            journalPointer = pointer;
-                        }
-                    }
-                    // skip the player if he does not have this entry
-                    if (journalPointer == null) {
-                        continue;
-                    }
-                    journal.removePointer(name);
-                    journal.addPointer(new Pointer(rename, journalPointer.getTimestamp()));
-                    journal.update();
-                }
+                operation = BulkMaintenance.Operation.RENAME_ENTRIES;
                 break;
             default:
                 sendMessage(sender, "unknown_argument");
                 return;
         }
-        BetonQuest.getInstance().getSaver().add(new Record(updateType, rename, name));
-        sendMessage(sender, "everything_renamed");
+        for (final Profile onlineProfile : PlayerConverter.getOnlineProfiles()) {
+            BetonQuest.getInstance().getPlayerData(onlineProfile).applyBulkChange(operation, name, rename);
+        }
+        BetonQuest.getInstance().getBulkMaintenance()
+                .submit(operation, name, rename, () -> sendMessage(sender, "everything_renamed"));
     }
 
     /**
@@ -1444,30 +1419,22 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
         }
         final String type = args[1].toLowerCase(Locale.ROOT);
         final String name = args[2];
-        final UpdateType updateType;
+        final BulkMaintenance.Operation operation;
         switch (type) {
             case "tags":
             case "tag":
             case "t":
-                updateType = UpdateType.REMOVE_ALL_TAGS;
-                for (final Profile onlineProfile : PlayerConverter.getOnlineProfiles()) {
-                    final PlayerData playerData = BetonQuest.getInstance().getPlayerData(onlineProfile);
-                    playerData.removeTag(name);
-                }
+                operation = BulkMaintenance.Operation.DELETE_TAGS;
                 break;
             case "points":
             case "point":
             case "p":
-                updateType = UpdateType.REMOVE_ALL_POINTS;
-                for (final Profile onlineProfile : PlayerConverter.getOnlineProfiles()) {
-                    final PlayerData playerData = BetonQuest.getInstance().getPlayerData(onlineProfile);
-                    playerData.removePointsCategory(name);
-                }
+                operation = BulkMaintenance.Operation.DELETE_POINTS;
                 break;
             case "objectives":
             case "objective":
             case "o":
-                updateType = UpdateType.REMOVE_ALL_OBJECTIVES;
+                operation = BulkMaintenance.Operation.DELETE_OBJECTIVES;
                 final ObjectiveID objectiveID;
                 try {
                     objectiveID = new ObjectiveID(null, name);
@@ -1488,19 +1455,17 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
             case "entries":
             case "entry":
             case "e":
-                updateType = UpdateType.REMOVE_ALL_ENTRIES;
-                for (final Profile onlineProfile : PlayerConverter.getOnlineProfiles()) {
-                    final Journal journal = BetonQuest.getInstance().getPlayerData(onlineProfile).getJournal();
-                    journal.removePointer(name);
-                    journal.update();
-                }
+                operation = BulkMaintenance.Operation.DELETE_ENTRIES;
                 break;
             default:
                 sendMessage(sender, "unknown_argument");
                 return;
         }
-        BetonQuest.getInstance().getSaver().add(new Record(updateType, name));
-        sendMessage(sender, "everything_removed");
+        for (final Profile onlineProfile : PlayerConverter.getOnlineProfiles()) {
+            BetonQuest.getInstance().getPlayerData(onlineProfile).applyBulkChange(operation, name, null);
+        }
+        BetonQuest.getInstance().getBulkMaintenance()
+                .submit(operation, name, null, () -> sendMessage(sender, "everything_removed"));
     }
 
     /**
@@ -1565,7 +1530,7 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
         cmds.put("vector", "vector <pack.varname> <vectorname>");
         cmds.put("version", "version");
         cmds.put("purge", "purge <player>");
-        cmds.put("debug", "debug [true/false/ingame]");
+        cmds.put("debug", "debug [true/false/ingame/stats]");
         cmds.put("download", "download <gitHubNamespace> <ref> <offsetPath> <sourcePath> [targetPath] [recursive] [overwrite]");
         if (!(sender instanceof Player)) {
             cmds.put("backup", "backup");
@@ -1665,6 +1630,10 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
                     "§2Debugging mode is currently " + (debuggingController.isLogging() ? "enabled" : "disabled") + '!');
             return;
         }
+        if ("stats".equalsIgnoreCase(args[1])) {
+            displayStatistics(sender);
+            return;
+        }
         if ("ingame".equalsIgnoreCase(args[1])) {
             if (!(sender instanceof Player)) {
                 log.debug("Cannot continue, sender must be player");
@@ -1718,6 +1687,61 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
         sendMessage(sender, "unknown_argument");
     }
 
+    /**
+     * Displays the statistics of the caches and thread pools.
+     */
+    private void displayStatistics(final CommandSender sender) {
+        final BetonQuest plugin = BetonQuest.getInstance();
+        final ConditionCache conditionCache = plugin.getConditionCache();
+        sender.sendMessage("§2Condition cache: §a" + formatRatio(conditionCache.getHitRatio()) + "§2 hit ratio, §a"
+                + conditionCache.getHits() + "§2 hits, §a" + conditionCache.getMisses() + "§2 misses");
+        final Map<String, String> variableRatios = new TreeMap<>();
+        plugin.getVariableCache().getHitRatios().forEach((type, ratio) -> variableRatios.put(type, formatRatio(ratio)));
+        sender.sendMessage("§2Variable cache hit ratios: §a" + (variableRatios.isEmpty() ? "none" : variableRatios.toString()));
+        final PlayerDataCache playerDataCache = plugin.getPlayerDataCache();
+        sender.sendMessage("§2Profile cache: §a" + playerDataCache.size() + "§2 profiles, §a" + playerDataCache.getHits()
+                + "§2 hits, §a" + playerDataCache.getMisses() + "§2 misses, §a" + playerDataCache.getEvictions()
+                + "§2 evictions");
+        if (plugin.getSaver() instanceof AsyncSaver) {
+            final AsyncSaver saver = (AsyncSaver) plugin.getSaver();
+            sender.sendMessage("§2Database saver: §a" + saver.getQueueDepth() + "§2 queued, §a" + saver.getFlushCount()
+                    + "§2 flushes, §a" + TimeUnit.NANOSECONDS.toMillis(saver.getLastFlushLatency()) + "§2 ms last flush, §a"
+                    + TimeUnit.NANOSECONDS.toMillis(saver.getAverageFlushLatency()) + "§2 ms average flush, §a"
+                    + saver.getCoalescedRecords() + "§2 coalesced records");
+        }
+        final ConditionExecutor conditionExecutor = plugin.getConditionExecutor();
+        sender.sendMessage("§2Condition pool: §a" + conditionExecutor.getCheckedCount() + "§2 checked, §a"
+                + conditionExecutor.getSkippedCount() + "§2 skipped, §a" + conditionExecutor.getSaturatedCount()
+                + "§2 run by the caller, §a" + conditionExecutor.getActiveCount() + "§2 active, §a"
+                + conditionExecutor.getQueueSize() + "§2 queued, §a"
+                + TimeUnit.NANOSECONDS.toMicros(conditionExecutor.getAverageWaitTime()) + "§2 µs average wait, §a"
+                + TimeUnit.NANOSECONDS.toMicros(conditionExecutor.getAverageRunTime()) + "§2 µs average run time");
+        final PrimaryServerThreadExecutor primaryServerThreadExecutor = plugin.getPrimaryServerThreadExecutor();
+        sender.sendMessage("§2Main thread batches: §a" + primaryServerThreadExecutor.getBatchCount() + "§2 batches, §a"
+                + primaryServerThreadExecutor.getTaskCount() + "§2 tasks");
+        final Map<String, Long> contended = new TreeMap<>(Objective.getContendedTransitions());
+        sender.sendMessage("§2Contended objective starts and stops: §a"
+                + (contended.isEmpty() ? "none" : contended.toString()));
+        sender.sendMessage("§2Objective event listeners: §a" + plugin.getObjectiveEventDispatcher().getListenerCount()
+                + "§2 registered");
+        final Map<String, Long> regenerations = Journal.getRegenerationCounts();
+        final String mostRegenerated = regenerations.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(5)
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(", "));
+        sender.sendMessage("§2Journal regenerations: §a" + regenerations.values().stream().mapToLong(Long::longValue).sum()
+                + "§2 total" + (mostRegenerated.isEmpty() ? "" : ", most: §a" + mostRegenerated));
+        final MovementDispatcher movementDispatcher = plugin.getMovementDispatcher();
+        sender.sendMessage("§2Movement dispatcher: §a" + movementDispatcher.getRegistrationCount() + "§2 areas, §a"
+                + movementDispatcher.getMoveCount() + "§2 moves, §a" + movementDispatcher.getHandlerCallCount()
+                + "§2 handler calls");
+    }
+
+    private String formatRatio(final double ratio) {
+        return String.format(Locale.ROOT, "%.1f%%", ratio * 100);
+    }
+
     @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.SwitchStmtsShouldHaveDefault"})
     private void handleDownload(final CommandSender sender, final String... args) {
         if (args.length < 5) {
@@ -1824,7 +1848,7 @@ public class QuestCommand implements CommandExecutor, SimpleTabCompleter {
 
     private Optional<List<String>> completeDebug(final String... args) {
         if (args.length == 2) {
-            return Optional.of(Arrays.asList("true", "false", "ingame"));
+            return Optional.of(Arrays.asList("true", "false", "ingame", "stats"));
         }
         if (args.length == 3) {
             return completePackage();
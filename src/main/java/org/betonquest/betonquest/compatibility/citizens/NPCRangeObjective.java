@@ -10,14 +10,18 @@ import org.betonquest.betonquest.api.profiles.OnlineProfile;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
 import org.betonquest.betonquest.exceptions.QuestRuntimeException;
+import org.betonquest.betonquest.modules.movement.MovementDispatcher;
 import org.betonquest.betonquest.utils.PlayerConverter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @SuppressWarnings("PMD.CommentRequired")
@@ -66,12 +70,19 @@ public class NPCRangeObjective extends Objective {
     }
 
     private void loop() throws QuestRuntimeException {
-        final ArrayList<UUID> profilesInside = new ArrayList<>();
+        final Set<UUID> profilesInside = new HashSet<>();
+        final MovementDispatcher dispatcher = BetonQuest.getInstance().getMovementDispatcher();
         for (final int npcId : npcIds) {
             final NPC npc = CitizensAPI.getNPCRegistry().getById(npcId);
             if (npc == null) {
                 throw new QuestRuntimeException("NPC with ID " + npcId + " does not exist");
             }
+            if (radius.isConstant()) {
+                for (final Player player : dispatcher.getPlayersNear(npc.getStoredLocation(), radius.getDouble(null))) {
+                    profilesInside.add(PlayerConverter.getID(player).getProfileUUID());
+                }
+                continue;
+            }
             for (final OnlineProfile onlineProfile : PlayerConverter.getOnlineProfiles()) {
                 if (!profilesInside.contains(onlineProfile.getProfileUUID()) && isInside(onlineProfile, npc.getStoredLocation())) {
                     profilesInside.add(onlineProfile.getProfileUUID());
@@ -79,7 +90,9 @@ public class NPCRangeObjective extends Objective {
             }
         }
         for (final OnlineProfile onlineProfile : PlayerConverter.getOnlineProfiles()) {
-            checkPlayer(onlineProfile.getProfileUUID(), onlineProfile, profilesInside.contains(onlineProfile.getProfileUUID()));
+            if (containsPlayer(onlineProfile)) {
+                checkPlayer(onlineProfile.getProfileUUID(), onlineProfile, profilesInside.contains(onlineProfile.getProfileUUID()));
+            }
         }
     }
 
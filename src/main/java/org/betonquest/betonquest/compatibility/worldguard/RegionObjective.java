@@ -6,22 +6,22 @@ import org.betonquest.betonquest.api.Objective;
 import org.betonquest.betonquest.api.profiles.OnlineProfile;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
+import org.betonquest.betonquest.modules.movement.MovementDispatcher;
 import org.betonquest.betonquest.utils.PlayerConverter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
-import org.bukkit.event.vehicle.VehicleMoveEvent;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +32,11 @@ import java.util.UUID;
  */
 @SuppressWarnings("PMD.CommentRequired")
 public class RegionObjective extends Objective implements Listener {
+    /**
+     * The interval in ticks in which the bounds of the region are checked for changes.
+     */
+    private static final long AREA_REFRESH_INTERVAL = 100;
+
     private final String name;
 
     private final boolean entry;
@@ -40,6 +45,21 @@ public class RegionObjective extends Objective implements Listener {
 
     private final Map<UUID, Boolean> playersInsideRegion;
 
+    /**
+     * The registrations of the region areas for player movement.
+     */
+    private final List<MovementDispatcher.Registration> registrations = new ArrayList<>();
+
+    /**
+     * The areas of the region the registrations were made for.
+     */
+    private List<MovementDispatcher.Area> areas = new ArrayList<>();
+
+    /**
+     * The task that checks the bounds of the region for changes.
+     */
+    private BukkitTask refreshTask;
+
     public RegionObjective(final Instruction instruction) throws InstructionParseException {
         super(instruction);
         template = ObjectiveData.class;
@@ -79,27 +99,9 @@ public class RegionObjective extends Objective implements Listener {
 
     @EventHandler(ignoreCancelled = true)
     public void onTeleport(final PlayerTeleportEvent event) {
-        onMove(event);
-    }
-
-    @EventHandler(ignoreCancelled = true)
-    public void onMove(final PlayerMoveEvent event) {
         checkLocation(event.getPlayer(), event.getTo());
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onRide(final VehicleMoveEvent event) {
-        qreHandler.handle(() -> {
-            final List<Entity> passengers = event.getVehicle().getPassengers();
-            for (final Entity passenger : passengers) {
-                if (passenger instanceof Player) {
-                    final Player player = (Player) passenger;
-                    checkLocation(player, event.getTo());
-                }
-            }
-        });
-    }
-
     @SuppressWarnings("PMD.CyclomaticComplexity")
     private void checkLocation(final Player player, final Location location) {
         final OnlineProfile onlineProfile = PlayerConverter.getID(player);
@@ -130,11 +132,40 @@ public class RegionObjective extends Objective implements Listener {
     @Override
     public void start() {
         Bukkit.getPluginManager().registerEvents(this, BetonQuest.getInstance());
+        refreshAreas();
+        // regions can be redefined or created while the objective is running
+        refreshTask = Bukkit.getScheduler().runTaskTimer(BetonQuest.getInstance(), this::refreshAreas,
+                AREA_REFRESH_INTERVAL, AREA_REFRESH_INTERVAL);
+    }
+
+    private void refreshAreas() {
+        final List<MovementDispatcher.Area> current = WorldGuardIntegrator.getRegionAreas(name);
+        if (!registrations.isEmpty() && current.equals(areas)) {
+            return;
+        }
+        final MovementDispatcher dispatcher = BetonQuest.getInstance().getMovementDispatcher();
+        registrations.forEach(dispatcher::unregister);
+        registrations.clear();
+        areas = current;
+        if (areas.isEmpty()) {
+            registrations.add(dispatcher.register(null, this::checkLocation));
+        }
+        for (final MovementDispatcher.Area area : areas) {
+            registrations.add(dispatcher.register(area, this::checkLocation));
+        }
     }
 
     @Override
     public void stop() {
         HandlerList.unregisterAll(this);
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+        final MovementDispatcher dispatcher = BetonQuest.getInstance().getMovementDispatcher();
+        registrations.forEach(dispatcher::unregister);
+        registrations.clear();
+        areas = new ArrayList<>();
     }
 
     @Override
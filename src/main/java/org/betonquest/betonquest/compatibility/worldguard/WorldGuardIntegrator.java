@@ -1,15 +1,23 @@
 package org.betonquest.betonquest.compatibility.worldguard;
 
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.internal.platform.WorldGuardPlatform;
 import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.GlobalProtectedRegion;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.compatibility.Compatibility;
 import org.betonquest.betonquest.compatibility.Integrator;
 import org.betonquest.betonquest.compatibility.citizens.NPCRegionCondition;
+import org.betonquest.betonquest.modules.movement.MovementDispatcher;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @SuppressWarnings("PMD.CommentRequired")
 public class WorldGuardIntegrator implements Integrator {
@@ -46,6 +54,31 @@ public class WorldGuardIntegrator implements Integrator {
         return region.contains(BukkitAdapter.asBlockVector(loc));
     }
 
+    /**
+     * Returns the areas a region covers in every world that has a region with that name.
+     *
+     * @param regionName The name of the region
+     * @return the areas, empty if no world has the region or the region has no bounds
+     */
+    public static List<MovementDispatcher.Area> getRegionAreas(final String regionName) {
+        final List<MovementDispatcher.Area> areas = new ArrayList<>();
+        final WorldGuardPlatform worldguardPlatform = WorldGuard.getInstance().getPlatform();
+        for (final World world : Bukkit.getWorlds()) {
+            final RegionManager manager = worldguardPlatform.getRegionContainer().get(BukkitAdapter.adapt(world));
+            final ProtectedRegion region = manager == null ? null : manager.getRegion(regionName);
+            if (region == null) {
+                continue;
+            }
+            if (region instanceof GlobalProtectedRegion) {
+                return new ArrayList<>();
+            }
+            final BlockVector3 min = region.getMinimumPoint();
+            final BlockVector3 max = region.getMaximumPoint();
+            areas.add(MovementDispatcher.Area.between(world, min.getX(), min.getZ(), max.getX() + 1, max.getZ() + 1));
+        }
+        return areas;
+    }
+
     @Override
     public void hook() {
         plugin.registerConditions("region", RegionCondition.class);
@@ -9,9 +9,7 @@ import org.betonquest.betonquest.exceptions.InstructionParseException;
 import org.betonquest.betonquest.id.ConditionID;
 import org.bukkit.Bukkit;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -42,23 +40,20 @@ public class AlternativeCondition extends Condition {
                 }
             }
         } else {
-            final List<CompletableFuture<Boolean>> conditions = new ArrayList<>();
-            for (final ConditionID id : conditionIDs) {
-                final CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(
-                        () -> BetonQuest.condition(profile, id));
-                conditions.add(future);
-            }
-            for (final CompletableFuture<Boolean> condition : conditions) {
-                try {
-                    if (condition.get()) {
-                        return true;
-                    }
-                } catch (final InterruptedException | ExecutionException e) {
-                    log.reportException(instruction.getPackage(), e);
-                    return false;
-                }
+            try {
+                return BetonQuest.getInstance().getConditionExecutor().any(profile, conditionIDs);
+            } catch (final InterruptedException | ExecutionException e) {
+                log.reportException(instruction.getPackage(), e);
+                return false;
             }
         }
         return false;
     }
+
+    /**
+     * @return the conditions of which one has to be met
+     */
+    public List<ConditionID> getConditionIDs() {
+        return conditionIDs;
+    }
 }
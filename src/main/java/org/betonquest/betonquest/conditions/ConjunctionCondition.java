@@ -26,4 +26,11 @@ public class ConjunctionCondition extends Condition {
     protected Boolean execute(final Profile profile) {
         return BetonQuest.conditions(profile, conditions);
     }
+
+    /**
+     * @return the conditions that all have to be met
+     */
+    public List<ConditionID> getConditionIDs() {
+        return conditions;
+    }
 }
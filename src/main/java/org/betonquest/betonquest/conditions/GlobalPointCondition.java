@@ -21,7 +21,7 @@ public class GlobalPointCondition extends PointCondition {
 
     @Override
     protected Boolean execute(final Profile profile) throws QuestRuntimeException {
-        return check(profile, BetonQuest.getInstance().getGlobalData().getPoints());
+        return check(profile, BetonQuest.getInstance().getGlobalData().getPoint(category));
     }
 
 }
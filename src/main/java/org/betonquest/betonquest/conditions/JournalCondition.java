@@ -19,6 +19,7 @@ public class JournalCondition extends Condition {
     public JournalCondition(final Instruction instruction) throws InstructionParseException {
         super(instruction, false);
         targetPointer = Utils.addPackage(instruction.getPackage(), instruction.next());
+        cacheable = true;
     }
 
     @Override
@@ -21,6 +21,7 @@ public class ObjectiveCondition extends Condition {
         if (objective == null) {
             throw new InstructionParseException("Objective does not exist");
         }
+        cacheable = true;
     }
 
     @Override
@@ -10,7 +10,7 @@ import org.betonquest.betonquest.exceptions.InstructionParseException;
 import org.betonquest.betonquest.exceptions.QuestRuntimeException;
 import org.betonquest.betonquest.utils.Utils;
 
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Requires the player to have specified amount of points (or more) in specified
@@ -29,25 +29,24 @@ public class PointCondition extends Condition {
         category = Utils.addPackage(instruction.getPackage(), instruction.next());
         count = instruction.getVarNum();
         equal = instruction.hasArgument("equal");
+        cacheable = count.isConstant();
     }
 
     @Override
     protected Boolean execute(final Profile profile) throws QuestRuntimeException {
-        return check(profile, BetonQuest.getInstance().getPlayerData(profile).getPoints());
+        return check(profile, BetonQuest.getInstance().getPlayerData(profile).getPoint(category));
     }
 
-    protected boolean check(final Profile profile, final List<Point> points) throws QuestRuntimeException {
+    protected boolean check(final Profile profile, final Optional<Point> point) throws QuestRuntimeException {
+        if (point.isEmpty()) {
+            return false;
+        }
         final int pCount = count.getInt(profile);
-        for (final Point point : points) {
-            if (point.getCategory().equalsIgnoreCase(category)) {
-                if (equal) {
-                    return point.getCount() == pCount;
-                } else {
-                    return point.getCount() >= pCount;
-                }
-            }
+        if (equal) {
+            return point.get().getCount() == pCount;
+        } else {
+            return point.get().getCount() >= pCount;
         }
-        return false;
     }
 
 }
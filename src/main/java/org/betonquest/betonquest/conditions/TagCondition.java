@@ -18,6 +18,7 @@ public class TagCondition extends Condition {
     public TagCondition(final Instruction instruction) throws InstructionParseException {
         super(instruction, false);
         tag = Utils.addPackage(instruction.getPackage(), instruction.next());
+        cacheable = true;
     }
 
     @Override
@@ -14,10 +14,7 @@ import org.betonquest.betonquest.api.profiles.OnlineProfile;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.config.Config;
 import org.betonquest.betonquest.conversation.ConversationData.OptionType;
-import org.betonquest.betonquest.database.Saver.Record;
-import org.betonquest.betonquest.database.UpdateType;
 import org.betonquest.betonquest.exceptions.QuestRuntimeException;
-import org.betonquest.betonquest.id.ConditionID;
 import org.betonquest.betonquest.id.EventID;
 import org.betonquest.betonquest.utils.PlayerConverter;
 import org.bukkit.Bukkit;
@@ -232,12 +229,8 @@ public class Conversation implements Listener {
             return;
         }
 
-        String text = data.getText(onlineProfile, language, option, OptionType.NPC);
-        // resolve variables
-        for (final String variable : BetonQuest.resolveVariables(text)) {
-            text = text.replace(variable, plugin.getVariableValue(data.getPackName(), variable, onlineProfile));
-        }
-        text = ChatColor.translateAlternateColorCodes('&', text);
+        final String text = ChatColor.translateAlternateColorCodes('&',
+                data.getResolvedText(onlineProfile, language, option, OptionType.NPC));
 
         // print option to the player
         inOut.setNpcResponse(data.getQuester(language), text);
@@ -267,27 +260,20 @@ public class Conversation implements Listener {
      */
     @SuppressWarnings("PMD.CognitiveComplexity")
     private void printOptions(final String... options) {
-        final List<Pair<String, List<CompletableFuture<Boolean>>>> futuresOptions = new ArrayList<>();
+        final List<Pair<String, CompletableFuture<Boolean>>> futuresOptions = new ArrayList<>();
         for (final String option : options) {
-            final List<CompletableFuture<Boolean>> conditions = new ArrayList<>();
-            for (final ConditionID conditionID : data.getConditionIDs(option, OptionType.PLAYER)) {
-                final CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(
-                    () -> BetonQuest.condition(onlineProfile, conditionID));
-                conditions.add(future);
-            }
-            futuresOptions.add(Pair.of(option, conditions));
+            futuresOptions.add(Pair.of(option, plugin.getConditionExecutor()
+                    .allAsync(onlineProfile, Arrays.asList(data.getConditionIDs(option, OptionType.PLAYER)))));
         }
 
         int optionsCount = 0;
-        option:
-        for (final Pair<String, List<CompletableFuture<Boolean>>> future : futuresOptions) {
+        for (final Pair<String, CompletableFuture<Boolean>> future : futuresOptions) {
             try {
-                for (final CompletableFuture<Boolean> completableFuture : future.getValue()) {
-                    if (!completableFuture.get(1, TimeUnit.SECONDS)) {
-                        continue option;
-                    }
+                if (!future.getValue().get(1, TimeUnit.SECONDS)) {
+                    continue;
                 }
             } catch (final CancellationException | InterruptedException | ExecutionException | TimeoutException e) {
+                future.getValue().cancel(false);
                 log.reportException(pack, e);
                 continue;
             }
@@ -296,11 +282,8 @@ public class Conversation implements Listener {
             // print reply and put it to the hashmap
             current.put(optionsCount, option);
             // replace variables with their values
-            String text = data.getText(onlineProfile, language, option, OptionType.PLAYER);
-            for (final String variable : BetonQuest.resolveVariables(text)) {
-                text = text.replace(variable, plugin.getVariableValue(data.getPackName(), variable, onlineProfile));
-            }
-            text = ChatColor.translateAlternateColorCodes('&', text);
+            final String text = ChatColor.translateAlternateColorCodes('&',
+                    data.getResolvedText(onlineProfile, language, option, OptionType.PLAYER));
 
             inOut.addPlayerOption(text);
         }
@@ -477,8 +460,7 @@ public class Conversation implements Listener {
             // save the conversation to the database
             final String loc = location.getX() + ";" + location.getY() + ";" + location.getZ() + ";"
                                + location.getWorld().getName();
-            plugin.getSaver().add(new Record(UpdateType.UPDATE_CONVERSATION,
-                convID + " " + option + " " + loc, onlineProfile.getProfileUUID().toString()));
+            plugin.getOfflinePlayerData(onlineProfile).setConversation(convID + " " + option + " " + loc);
 
             // End interceptor
             if (interceptor != null) {
@@ -3,6 +3,7 @@ package org.betonquest.betonquest.conversation;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.lang3.StringUtils;
 import org.betonquest.betonquest.BetonQuest;
+import org.betonquest.betonquest.VariableTemplate;
 import org.betonquest.betonquest.api.config.quest.QuestPackage;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
 import org.betonquest.betonquest.api.profiles.Profile;
@@ -21,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -363,6 +365,23 @@ public class ConversationData {
         return opt.getText(profile, lang);
     }
 
+    /**
+     * Gets the text of an option with all variables resolved for the profile.
+     *
+     * @param profile the {@link Profile} to resolve the variables for
+     * @param lang    the language of the text
+     * @param option  the name of the option
+     * @param type    the type of the option
+     * @return the resolved text, or null if there is no such option
+     */
+    public String getResolvedText(final Profile profile, final String lang, final String option, final OptionType type) {
+        final Option opt = getOption(option, type);
+        if (opt == null) {
+            return null;
+        }
+        return opt.getResolvedText(profile, lang, new ArrayList<>());
+    }
+
     /**
      * @return the name of the package
      */
@@ -470,6 +489,8 @@ public class ConversationData {
 
         private final Map<String, String> text = new HashMap<>();
 
+        private final Map<String, VariableTemplate> textTemplates = new HashMap<>();
+
         private final List<ConditionID> conditions = new ArrayList<>();
 
         private final List<EventID> events = new ArrayList<>();
@@ -527,28 +548,11 @@ public class ConversationData {
                     text.put(defaultLang, pack.getFormattedString("conversations." + convName + "." + type.getIdentifier() + "." + name + ".text"));
                 }
 
-                final List<String> variables = new ArrayList<>();
-                for (final String theText : text.values()) {
-                    if (theText == null || theText.equals("")) {
+                for (final Map.Entry<String, String> theText : text.entrySet()) {
+                    if (theText.getValue() == null || theText.getValue().equals("")) {
                         throw new InstructionParseException("Text not defined in " + type.getReadable() + " " + name);
                     }
-                    // variables are possibly duplicated because there probably is
-                    // the same variable in every language
-                    final List<String> possiblyDuplicatedVariables = BetonQuest.resolveVariables(theText);
-                    for (final String possiblyDuplicatedVariable : possiblyDuplicatedVariables) {
-                        if (variables.contains(possiblyDuplicatedVariable)) {
-                            continue;
-                        }
-                        variables.add(possiblyDuplicatedVariable);
-                    }
-                }
-                for (final String variable : variables) {
-                    try {
-                        BetonQuest.createVariable(pack, variable);
-                    } catch (final InstructionParseException e) {
-                        throw new InstructionParseException("Error while creating '" + variable + "' variable: "
-                                + e.getMessage(), e);
-                    }
+                    textTemplates.put(theText.getKey(), VariableTemplate.compile(pack, theText.getValue()));
                 }
             }
 
@@ -603,18 +607,40 @@ public class ConversationData {
         }
 
         public String getText(final Profile profile, final String lang, final List<String> optionPath) {
+            return buildText(profile, optionPath,
+                    option -> option.text.getOrDefault(lang, option.text.getOrDefault(Config.getLanguage(), "")));
+        }
+
+        public String getResolvedText(final Profile profile, final String lang, final List<String> optionPath) {
+            return buildText(profile, optionPath, option -> {
+                final VariableTemplate template = option.textTemplates.getOrDefault(lang,
+                        option.textTemplates.get(Config.getLanguage()));
+                return template == null ? "" : template.resolve(profile);
+            });
+        }
+
+        /**
+         * Appends the text of the first extending option whose conditions are met to the text of this option.
+         *
+         * @param profile    the profile to check the conditions of the extending options for, null to not extend
+         * @param optionPath the names of the options that were already visited, to prevent infinite loops
+         * @param ownText    the text of a single option
+         * @return the text of this option and its extensions
+         */
+        private String buildText(final Profile profile, final List<String> optionPath, final Function<Option, String> ownText) {
             // Prevent infinite loops
             if (optionPath.contains(getName())) {
                 return "";
             }
             optionPath.add(getName());
 
-            final StringBuilder ret = new StringBuilder(text.getOrDefault(lang, text.getOrDefault(Config.getLanguage(), "")));
+            final StringBuilder ret = new StringBuilder(ownText.apply(this));
 
             if (profile != null) {
                 for (final String extend : extendLinks) {
-                    if (BetonQuest.conditions(profile, getOption(extend, type).getConditions())) {
-                        ret.append(getOption(extend, type).getText(profile, lang, optionPath));
+                    final Option option = getOption(extend, type);
+                    if (BetonQuest.conditions(profile, option.getConditions())) {
+                        ret.append(option.buildText(profile, optionPath, ownText));
                         break;
                     }
                 }
@@ -7,10 +7,17 @@ import org.betonquest.betonquest.config.Config;
 import org.bukkit.Bukkit;
 import org.bukkit.event.Listener;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Saves the data to the database asynchronously.
+ * <p>
+ * All records that are queued at the time of a flush are drained into a {@link RecordBatch}, which drops redundant
+ * writes, and are then written in a single transaction using JDBC batches.
  */
 @SuppressWarnings("PMD.DoNotUseThreads")
 @SuppressFBWarnings("IS2_INCONSISTENT_SYNC")
@@ -36,6 +43,51 @@ public class AsyncSaver extends Thread implements Listener, Saver {
      */
     private final long reconnectInterval;
 
+    /**
+     * The maximum amount of records that are written in one transaction.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * The amount of records currently waiting in the queue.
+     */
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    /**
+     * The amount of flushes done so far.
+     */
+    private final AtomicLong flushCount = new AtomicLong();
+
+    /**
+     * The total time spent flushing, in nanoseconds.
+     */
+    private final AtomicLong flushNanos = new AtomicLong();
+
+    /**
+     * The amount of records that were dropped because a later record made them redundant.
+     */
+    private final AtomicLong coalescedRecords = new AtomicLong();
+
+    /**
+     * The amount of records ever added to the queue.
+     */
+    private final AtomicLong queuedRecords = new AtomicLong();
+
+    /**
+     * The amount of records ever taken from the queue and written or dropped.
+     */
+    private final AtomicLong writtenRecords = new AtomicLong();
+
+    /**
+     * Lock that is notified after every flush.
+     */
+    private final Object flushLock = new Object();
+
+    /**
+     * The duration of the last flush, in nanoseconds.
+     */
+    private volatile long lastFlushNanos;
+
     /**
      * Whether the saver is currently running or not.
      */
@@ -53,6 +105,7 @@ public class AsyncSaver extends Thread implements Listener, Saver {
         this.queue = new ConcurrentLinkedQueue<>();
         this.running = true;
         this.reconnectInterval = Long.parseLong(Config.getString("config.mysql.reconnect_interval"));
+        this.maxBatchSize = Math.max(1, BetonQuest.getInstance().getPluginConfig().getInt("mysql.batch_size", 1000));
         Bukkit.getPluginManager().registerEvents(this, BetonQuest.getInstance());
     }
 
@@ -64,6 +117,7 @@ public class AsyncSaver extends Thread implements Listener, Saver {
         while (true) {
             while (queue.isEmpty()) {
                 if (!running) {
+                    con.closeBatchConnection();
                     return;
                 }
                 synchronized (this) {
@@ -86,19 +140,129 @@ public class AsyncSaver extends Thread implements Listener, Saver {
                 }
                 active = true;
             }
+            flush();
+        }
+    }
+
+    /**
+     * Drains the queue into a batch and writes it to the database in one transaction.
+     * If the transaction fails, the records are written one by one, so a single broken record does not discard the
+     * others.
+     */
+    private void flush() {
+        final long start = System.nanoTime();
+        final RecordBatch batch = new RecordBatch();
+        while (batch.getAddedCount() < maxBatchSize) {
             final Record rec = queue.poll();
-            con.updateSQL(rec.getType(), rec.getArgs());
+            if (rec == null) {
+                break;
+            }
+            queueDepth.decrementAndGet();
+            batch.add(rec);
+        }
+        if (batch.isEmpty()) {
+            return;
         }
+        final List<List<Record>> groups = batch.getStatementGroups();
+        if (!con.updateSQLBatch(groups)) {
+            log.warn("Could not save " + batch.getAddedCount() + " records in one transaction, saving them one by one.");
+            for (final List<Record> group : groups) {
+                for (final Record rec : group) {
+                    con.updateSQL(rec.getType(), rec.getArgs());
+                }
+            }
+        }
+        final long duration = System.nanoTime() - start;
+        lastFlushNanos = duration;
+        flushNanos.addAndGet(duration);
+        flushCount.incrementAndGet();
+        coalescedRecords.addAndGet(batch.getDroppedCount());
+        writtenRecords.addAndGet(batch.getAddedCount());
+        synchronized (flushLock) {
+            flushLock.notifyAll();
+        }
+        log.debug("Saved " + batch.getAddedCount() + " records (" + batch.getDroppedCount() + " coalesced) in "
+                + TimeUnit.NANOSECONDS.toMillis(duration) + "ms, " + queueDepth.get() + " records left in the queue.");
     }
 
     @Override
     public void add(final Record rec) {
         synchronized (this) {
             queue.add(rec);
+            queueDepth.incrementAndGet();
+            queuedRecords.incrementAndGet();
             notifyAll();
         }
     }
 
+    /**
+     * Returns the amount of records currently waiting to be saved.
+     *
+     * @return the current queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Returns the amount of flushes done since the saver was started.
+     *
+     * @return the amount of flushes
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * Returns the duration of the last flush.
+     *
+     * @return the duration of the last flush in nanoseconds
+     */
+    public long getLastFlushLatency() {
+        return lastFlushNanos;
+    }
+
+    /**
+     * Returns the average duration of all flushes.
+     *
+     * @return the average flush duration in nanoseconds, or 0 if nothing was flushed yet
+     */
+    public long getAverageFlushLatency() {
+        final long count = flushCount.get();
+        return count == 0 ? 0 : flushNanos.get() / count;
+    }
+
+    /**
+     * Returns the amount of records that were never written because a later record made them redundant.
+     *
+     * @return the amount of coalesced records
+     */
+    public long getCoalescedRecords() {
+        return coalescedRecords.get();
+    }
+
+    /**
+     * Waits until all records that were added before this call are written to the database.
+     *
+     * @param timeoutMillis the maximum time to wait in milliseconds
+     * @return true if all records were written, false if the timeout elapsed before
+     * @throws InterruptedException if the waiting thread was interrupted
+     */
+    public boolean awaitFlushed(final long timeoutMillis) throws InterruptedException {
+        final long target = queuedRecords.get();
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (flushLock) {
+            while (writtenRecords.get() < target) {
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                flushLock.wait(remaining);
+            }
+        }
+        return true;
+    }
+
     @Override
     public void end() {
         synchronized (this) {
@@ -0,0 +1,163 @@
+package org.betonquest.betonquest.database;
+
+import org.betonquest.betonquest.database.Saver.Record;
+import org.betonquest.betonquest.item.QuestItem;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps track of the backpack rows of a profile that are stored in the database, so a changed backpack is persisted
+ * by writing only the rows that were added, changed or removed, instead of deleting and inserting all of them.
+ * <p>
+ * The rows are counted by instruction and amount, as the database has no other way to address them. The instruction
+ * of every item is cached by a copy of the item with the amount 1, so items are only serialized again if more than
+ * their amount changed. The copies are compared by value, as the owner stores copies of the items it gets.
+ * The owner must synchronize the calls.
+ */
+public class BackpackStore {
+    /**
+     * Saver for the changed rows.
+     */
+    private final Saver saver;
+
+    /**
+     * The profile the backpack belongs to.
+     */
+    private final String profileID;
+
+    /**
+     * The rows in the database, counted by their content.
+     */
+    private final Map<Row, Integer> persisted = new HashMap<>();
+
+    /**
+     * The serialized instructions of the current backpack items, by their key.
+     */
+    private final Map<ItemStack, String> instructions = new HashMap<>();
+
+    /**
+     * Creates a new store for an empty backpack.
+     *
+     * @param saver     the saver for the changed rows
+     * @param profileID the profile the backpack belongs to
+     */
+    public BackpackStore(final Saver saver, final String profileID) {
+        this.saver = saver;
+        this.profileID = profileID;
+    }
+
+    /**
+     * Registers a row that was loaded from the database.
+     *
+     * @param instruction the instruction of the item
+     * @param amount      the amount of the item
+     */
+    public void addLoaded(final String instruction, final int amount) {
+        persisted.merge(new Row(instruction, amount), 1, Integer::sum);
+    }
+
+    /**
+     * Remembers the instruction an item was created from, so it doesn't have to be serialized again.
+     *
+     * @param item        the item
+     * @param instruction the instruction of the item
+     */
+    public void remember(final ItemStack item, final String instruction) {
+        instructions.put(keyOf(item), instruction);
+    }
+
+    /**
+     * Persists the difference between the rows in the database and the given items.
+     * If there are fewer rows with the same content than before, all of them are removed and the remaining ones
+     * inserted again, as equal rows can't be told apart.
+     *
+     * @param items all items in the backpack
+     */
+    public void persist(final List<ItemStack> items) {
+        final Map<ItemStack, String> current = new HashMap<>();
+        final Map<Row, Integer> target = new LinkedHashMap<>();
+        for (final ItemStack item : items) {
+            final ItemStack key = keyOf(item);
+            String instruction = instructions.get(key);
+            if (instruction == null) {
+                instruction = QuestItem.itemToString(item);
+            }
+            current.put(key, instruction);
+            target.merge(new Row(instruction, item.getAmount()), 1, Integer::sum);
+        }
+        instructions.clear();
+        instructions.putAll(current);
+
+        for (final Map.Entry<Row, Integer> entry : persisted.entrySet()) {
+            final Row row = entry.getKey();
+            if (target.getOrDefault(row, 0) < entry.getValue()) {
+                saver.add(new Record(UpdateType.REMOVE_BACKPACK_ITEMS, profileID, row.instruction, row.amount));
+                entry.setValue(0);
+            }
+        }
+        for (final Map.Entry<Row, Integer> entry : target.entrySet()) {
+            final Row row = entry.getKey();
+            for (int i = persisted.getOrDefault(row, 0); i < entry.getValue(); i++) {
+                saver.add(new Record(UpdateType.ADD_BACKPACK, profileID, row.instruction, row.amount));
+            }
+        }
+        persisted.clear();
+        persisted.putAll(target);
+    }
+
+    /**
+     * Creates the key of an item, which doesn't change with the amount of the item, as the instruction doesn't either.
+     *
+     * @param item the item
+     * @return a copy of the item with the amount 1
+     */
+    private static ItemStack keyOf(final ItemStack item) {
+        final ItemStack key = item.clone();
+        key.setAmount(1);
+        return key;
+    }
+
+    /**
+     * Forgets all rows and items, after the backpack was deleted from the database.
+     */
+    public void clear() {
+        persisted.clear();
+        instructions.clear();
+    }
+
+    /**
+     * The content of a backpack row.
+     */
+    private static class Row {
+        private final String instruction;
+
+        private final String amount;
+
+        Row(final String instruction, final int amount) {
+            this.instruction = instruction;
+            this.amount = String.valueOf(amount);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Row)) {
+                return false;
+            }
+            final Row row = (Row) other;
+            return Objects.equals(instruction, row.instruction) && amount.equals(row.amount);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(instruction, amount);
+        }
+    }
+}
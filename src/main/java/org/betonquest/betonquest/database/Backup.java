@@ -10,20 +10,21 @@ import org.bukkit.configuration.file.FileConfiguration;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
-import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 
 /**
  * This class is responsible for backing up and restoring the database.
  */
 public final class Backup {
+    /**
+     * The name of the database backup file in the plugin folder.
+     */
+    public static final String BACKUP_FILE = "database-backup.gz";
+
+    /**
+     * The name of the database backup file in the legacy YAML format in the plugin folder.
+     */
+    private static final String LEGACY_BACKUP_FILE = "database-backup.yml";
+
     /**
      * Custom {@link BetonQuestLogger} instance for this class.
      */
@@ -36,105 +37,51 @@ public final class Backup {
     }
 
     /**
-     * Backs the database up to a specified .yml file (it should not exist)
+     * Backs the database up to the specified file in the format of the {@link StreamingBackup}.
      *
-     * @param databaseBackupFile non-existent file where the database should be dumped
+     * @param databaseBackupFile file where the database should be dumped, it will be replaced if it exists
      * @return true if the backup was successful, false if there was an error
      */
-    @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
-    @SuppressWarnings({"PMD.CognitiveComplexity"})
     public static boolean backupDatabase(final File databaseBackupFile) {
-        final BetonQuest instance = BetonQuest.getInstance();
-        try {
-            boolean done = true;
-            // prepare the config file
-            databaseBackupFile.createNewFile();
-            final ConfigAccessor accessor = ConfigAccessor.create(databaseBackupFile);
-            final FileConfiguration config = accessor.getConfig();
-            // prepare the database and map
-            final HashMap<String, ResultSet> map = new HashMap<>();
-            final String[] tables = {"objectives", "tags", "points", "journals", "player", "backpack", "global_points",
-                    "global_tags", "migration", "player_profile", "profile"};
-            // open database connection
-            final Connector database = new Connector();
-            // load resultsets into the map
-            for (final String table : tables) {
-                LOG.debug("Loading " + table);
-                final String enumName = ("LOAD_ALL_" + table).toUpperCase(Locale.ROOT);
-                map.put(table, database.querySQL(QueryType.valueOf(enumName)));
-            }
-            // extract data from resultsets into the config file
-            for (final Map.Entry<String, ResultSet> entry : map.entrySet()) {
-                LOG.debug("Saving " + entry.getKey() + " to the backup file");
-                // prepare resultset and meta
-                try (ResultSet res = entry.getValue()) {
-                    final ResultSetMetaData rsmd = res.getMetaData();
-                    // get the list of column names
-                    final List<String> columns = new ArrayList<>();
-                    final int columnCount = rsmd.getColumnCount();
-                    LOG.debug("  There are " + columnCount + " columns in this ResultSet");
-                    for (int i = 1; i <= rsmd.getColumnCount(); i++) {
-                        final String columnName = rsmd.getColumnName(i);
-                        LOG.debug("    Adding column " + columnName);
-                        columns.add(columnName);
-                    }
-                    // counter for counting rows
-                    int counter = 0;
-                    while (res.next()) {
-                        // for each column add a value to a config
-                        for (final String columnName : columns) {
-                            try {
-                                final String value = res.getString(columnName);
-                                config.set(entry.getKey() + "." + counter + "." + columnName, value);
-                            } catch (final SQLException e) {
-                                LOG.warn("Could not read SQL: " + e.getMessage(), e);
-                                done = false;
-                                // do nothing, as there can be nothing done
-                                // error while loading the string means the
-                                // database entry is broken
-                            }
-                        }
-                        counter++;
-                    }
-                    LOG.debug("  Saved " + (counter + 1) + " rows");
-                }
-            }
-            // save the config at the end
-            accessor.save();
-            return done;
-        } catch (final IOException | SQLException | InvalidConfigurationException e) {
-            LOG.warn("There was an error during database backup: " + e.getMessage(), e);
-            final File brokenFile = new File(instance.getDataFolder(), "database-backup.yml");
-            if (brokenFile.exists()) {
-                brokenFile.delete();
-            }
-            return false;
-        }
+        return createStreamingBackup().dump(databaseBackupFile);
     }
 
     /**
      * If the database backup file exists, loads it into the database.
+     * If there is only a backup file in the legacy YAML format, that one is loaded instead.
      */
-    @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity", "PMD.CognitiveComplexity", "PMD.NcssCount", "PMD.AvoidDuplicateLiterals"})
     @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
     public static void loadDatabaseFromBackup() {
         final BetonQuest instance = BetonQuest.getInstance();
-        final File file = new File(instance.getDataFolder(), "database-backup.yml");
+        final File file = new File(instance.getDataFolder(), BACKUP_FILE);
+        final File legacyFile = new File(instance.getDataFolder(), LEGACY_BACKUP_FILE);
+        final boolean legacy = !file.exists();
         // if the backup doesn't exist then there is nothing to load, return
-        if (!file.exists()) {
+        if (legacy && !legacyFile.exists()) {
             return;
         }
         LOG.info("Loading database backup!");
+        // load the legacy backup before anything is changed, so an invalid file doesn't do any harm
+        FileConfiguration legacyConfig = null;
+        if (legacy) {
+            try {
+                legacyConfig = ConfigAccessor.create(legacyFile).getConfig();
+            } catch (final InvalidConfigurationException | FileNotFoundException e) {
+                LOG.warn(e.getMessage(), e);
+                return;
+            }
+        }
         // backup the database
         final File backupFolder = new File(instance.getDataFolder(), "Backups");
         if (!backupFolder.isDirectory()) {
             backupFolder.mkdirs();
         }
         int backupNumber = 0;
-        while (new File(backupFolder, "old-database-" + backupNumber + ".yml").exists()) {
+        while (new File(backupFolder, "old-database-" + backupNumber + ".gz").exists()
+                || new File(backupFolder, "old-database-" + backupNumber + ".yml").exists()) {
             backupNumber++;
         }
-        final String filename = "old-database-" + backupNumber + ".yml";
+        final String filename = "old-database-" + backupNumber + ".gz";
         LOG.info("Backing up old database!");
         if (!backupDatabase(new File(backupFolder, filename))) {
             LOG.warn("There was an error during old database backup process. This means that"
@@ -142,15 +89,30 @@ public final class Backup {
                     + "forever. Because of that the loading of backup was aborted!");
             return;
         }
-        final ConfigAccessor accessor;
-        try {
-            accessor = ConfigAccessor.create(file);
-        } catch (final InvalidConfigurationException | FileNotFoundException e) {
-            LOG.warn(e.getMessage(), e);
+        recreateTables(instance.getDB());
+        if (legacy) {
+            loadLegacyBackup(legacyConfig, new Connector());
+            // delete backup file so it doesn't get loaded again
+            legacyFile.delete();
+            return;
+        }
+        if (!createStreamingBackup().restore(file)) {
+            LOG.warn("The database backup could not be loaded! The backup file was kept, so the loading is tried again"
+                    + " on the next start. The old database was saved to 'Backups/" + filename + "'.");
             return;
         }
-        final FileConfiguration config = accessor.getConfig();
-        final Database database = instance.getDB();
+        // delete backup file so it doesn't get loaded again
+        file.delete();
+    }
+
+    private static StreamingBackup createStreamingBackup() {
+        final BetonQuest instance = BetonQuest.getInstance();
+        return new StreamingBackup(instance.getLoggerFactory().create(StreamingBackup.class), instance.getDB(),
+                instance.getPluginConfig().getString("mysql.prefix", ""),
+                instance.getPluginConfig().getInt("mysql.batch_size", 1000));
+    }
+
+    private static void recreateTables(final Database database) {
         // create tables if they don't exist, so we can be 100% sure
         // that we can drop them without an error (should've been done
         // in a different way...)
@@ -170,6 +132,16 @@ public final class Backup {
         con.updateSQL(UpdateType.DROP_PLAYER_PROFILE);
         // create new tables
         database.createTables();
+    }
+
+    /**
+     * Loads a backup in the legacy YAML format, where every row is a section with its column values.
+     *
+     * @param config the loaded backup file
+     * @param con    the connector to insert the rows with
+     */
+    @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity", "PMD.CognitiveComplexity", "PMD.NcssCount", "PMD.AvoidDuplicateLiterals"})
+    private static void loadLegacyBackup(final FileConfiguration config, final Connector con) {
         // load objectives
         final ConfigurationSection objectives = config.getConfigurationSection("objectives");
         if (objectives != null) {
@@ -272,7 +244,5 @@ public final class Backup {
                         playerProfile.getString(key + ".name"));
             }
         }
-        // delete backup file so it doesn't get loaded again
-        file.delete();
     }
 }
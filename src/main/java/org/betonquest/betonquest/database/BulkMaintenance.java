@@ -0,0 +1,586 @@
+package org.betonquest.betonquest.database;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.betonquest.betonquest.BetonQuest;
+import org.betonquest.betonquest.api.config.ConfigAccessor;
+import org.betonquest.betonquest.api.logger.BetonQuestLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renames and deletes tags, points, objectives and journal entries of all profiles in the database.
+ * <p>
+ * Every operation runs on a separate thread, one after another. The table is processed in chunks of profiles, ordered by
+ * their id, with a pause between them, so neither the server nor the database is blocked for long. The progress is
+ * stored after every chunk, so operations that were interrupted by a shutdown continue after the next start.
+ * Operations that fail for other reasons than a lost connection are dropped, as they would fail again.
+ * <p>
+ * Online profiles must be changed with {@link PlayerData#applyBulkChange(Operation, String, String)} before an
+ * operation is submitted, so their rows are already written when the operation reaches them.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class BulkMaintenance {
+    /**
+     * The file where unfinished operations are stored.
+     */
+    public static final String STATE_FILE = ".cache/bulk-maintenance.yml";
+
+    /**
+     * The maximum time to wait for the saver before an operation is started anyway, in milliseconds.
+     */
+    private static final long SAVER_TIMEOUT = 30_000;
+
+    /**
+     * The minimum time between two progress messages, in milliseconds.
+     */
+    private static final long PROGRESS_INTERVAL = 5000;
+
+    /**
+     * Custom {@link BetonQuestLogger} instance for this class.
+     */
+    private final BetonQuestLogger log;
+
+    /**
+     * The plugin to schedule the completion callbacks with.
+     */
+    private final BetonQuest plugin;
+
+    /**
+     * Database connection management.
+     */
+    private final Database database;
+
+    /**
+     * The saver whose queued records must be written before an operation starts.
+     */
+    private final AsyncSaver saver;
+
+    /**
+     * The data of offline profiles, that becomes outdated by an operation.
+     */
+    private final PlayerDataCache playerDataCache;
+
+    /**
+     * Table prefix.
+     */
+    private final String prefix;
+
+    /**
+     * The amount of profiles whose rows are changed with one statement.
+     */
+    private final int chunkSize;
+
+    /**
+     * The pause between two chunks, in milliseconds.
+     */
+    private final long chunkDelay;
+
+    /**
+     * The thread that runs the operations.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "BetonQuest-BulkMaintenance"));
+
+    /**
+     * The stored unfinished operations, null if the file could not be loaded.
+     */
+    private ConfigAccessor state;
+
+    /**
+     * Whether operations may still run.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Creates the engine. Unfinished operations are not continued before {@link #resume()} is called.
+     *
+     * @param log             the logger that will be used for logging
+     * @param plugin          the plugin to schedule the completion callbacks with
+     * @param database        the database to change
+     * @param saver           the saver whose records must be written before an operation starts
+     * @param playerDataCache the cache of offline profiles to invalidate
+     * @param dataFolder      the BetonQuest data folder
+     */
+    public BulkMaintenance(final BetonQuestLogger log, final BetonQuest plugin, final Database database,
+                           final AsyncSaver saver, final PlayerDataCache playerDataCache, final File dataFolder) {
+        this.log = log;
+        this.plugin = plugin;
+        this.database = database;
+        this.saver = saver;
+        this.playerDataCache = playerDataCache;
+        this.prefix = plugin.getPluginConfig().getString("mysql.prefix", "");
+        this.chunkSize = Math.max(1, plugin.getPluginConfig().getInt("mysql.bulk.chunk_size", 500));
+        this.chunkDelay = Math.max(0, plugin.getPluginConfig().getLong("mysql.bulk.chunk_delay", 50));
+        try {
+            final Path stateFile = new File(dataFolder, STATE_FILE).toPath();
+            if (!Files.exists(stateFile)) {
+                Files.createDirectories(Optional.ofNullable(stateFile.getParent()).orElseThrow());
+                Files.createFile(stateFile);
+            }
+            this.state = ConfigAccessor.create(stateFile.toFile());
+        } catch (final IOException | InvalidConfigurationException e) {
+            log.error("Could not load the unfinished bulk operations, they will not be continued: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Continues all operations that were not finished before the last shutdown.
+     */
+    public void resume() {
+        if (state == null) {
+            return;
+        }
+        for (final String key : state.getConfig().getKeys(false)) {
+            final ConfigurationSection section = state.getConfig().getConfigurationSection(key);
+            if (section == null) {
+                continue;
+            }
+            final Operation operation;
+            try {
+                operation = Operation.valueOf(section.getString("operation", "").toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                log.warn("Skipping unknown bulk operation '" + section.getString("operation") + "'", e);
+                continue;
+            }
+            final Job job = new Job(key, operation, section.getString("name"), section.getString("rename"), null);
+            if (job.name == null || operation.isRename() && job.rename == null) {
+                log.warn("Skipping incomplete bulk operation '" + key + "'");
+                remove(job);
+                continue;
+            }
+            job.lastProfile = section.getString("last_profile");
+            job.done = section.getLong("done", 0);
+            job.total = section.getLong("total", 0);
+            log.info("Continuing " + job + " at profile " + job.done + " of " + job.total);
+            executor.execute(() -> run(job));
+        }
+    }
+
+    /**
+     * Submits an operation for all profiles. The offline profile cache is invalidated now and after the operation.
+     *
+     * @param operation  the operation to run
+     * @param name       the tag, point category, objective or journal entry to rename or delete
+     * @param rename     the new name, null if the operation deletes
+     * @param onComplete called on the main thread after the operation finished, may be null
+     */
+    public void submit(final Operation operation, final String name, final String rename, final Runnable onComplete) {
+        if (operation.isRename() && rename == null) {
+            throw new IllegalArgumentException("The operation " + operation + " requires a new name");
+        }
+        final Job job = new Job(UUID.randomUUID().toString(), operation, name, operation.isRename() ? rename : null, onComplete);
+        playerDataCache.invalidateAll();
+        store(job);
+        executor.execute(() -> run(job));
+    }
+
+    /**
+     * Stops the running operation after its current chunk. Unfinished operations are continued after the next start.
+     */
+    public void stop() {
+        running = false;
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("The bulk operation did not stop in time, it will be continued after the next start");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void run(final Job job) {
+        try {
+            if (job.lastProfile == null) {
+                prepare(job);
+            }
+            final long changed = process(job);
+            if (job.finished) {
+                complete(job, changed);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final SQLException e) {
+            if (isTransient(e)) {
+                log.error("Bulk operation " + job + " failed at profile " + job.done
+                        + ", it will be continued after the next start: " + e.getMessage(), e);
+            } else {
+                drop(job, e);
+            }
+        } catch (final RuntimeException e) {
+            drop(job, e);
+        }
+    }
+
+    private static boolean isTransient(final SQLException exception) {
+        final String sqlState = exception.getSQLState();
+        return exception instanceof SQLTransientException || exception instanceof SQLRecoverableException
+                || sqlState != null && sqlState.startsWith("08");
+    }
+
+    private void drop(final Job job, final Exception exception) {
+        remove(job);
+        log.error("Bulk operation " + job + " failed at profile " + job.done + " of " + job.total
+                + " and was dropped, the profiles before were changed: " + exception.getMessage(), exception);
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, playerDataCache::invalidateAll);
+        }
+    }
+
+    /**
+     * Waits until the records of online profiles are written and stores the amount of profiles to process.
+     */
+    private void prepare(final Job job) throws InterruptedException, SQLException {
+        if (!saver.awaitFlushed(SAVER_TIMEOUT)) {
+            log.warn("The database saver is behind, starting " + job + " before all changes are saved");
+        }
+        try (Connection connection = database.openDedicatedConnection()) {
+            job.total = queryProfileCount(connection);
+        }
+        job.lastProfile = "";
+        job.done = 0;
+        store(job);
+        log.info("Starting " + job + " on " + job.total + " profiles");
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private long queryProfileCount(final Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM " + prefix + "profile;");
+             ResultSet result = statement.executeQuery()) {
+            return result.next() ? result.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Changes the rows of the job chunk by chunk, until it is done or the engine is stopped.
+     * A chunk are the rows of the next profiles after the last processed one, ordered by their id.
+     * Every chunk is changed in one transaction.
+     *
+     * @return the amount of changed rows
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    private long process(final Job job) throws InterruptedException, SQLException {
+        final List<String> mergeSql = job.operation.isSameName(job.name, job.rename)
+                ? List.of() : job.operation.createMergeSql(prefix);
+        final List<PreparedStatement> merges = new ArrayList<>(mergeSql.size());
+        try (Connection connection = database.openDedicatedConnection();
+             PreparedStatement chunkStatement = connection.prepareStatement(
+                     "SELECT MAX(profileID), COUNT(*) FROM (SELECT profileID FROM " + prefix + "profile "
+                             + "WHERE profileID > ? ORDER BY profileID LIMIT ?) chunk;");
+             PreparedStatement statement = connection.prepareStatement(job.operation.createSql(prefix))) {
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (final String sql : mergeSql) {
+                    merges.add(connection.prepareStatement(sql));
+                }
+                return processChunks(job, connection, chunkStatement, merges, statement);
+            } finally {
+                for (final PreparedStatement merge : merges) {
+                    merge.close();
+                }
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private long processChunks(final Job job, final Connection connection, final PreparedStatement chunkStatement,
+                               final List<PreparedStatement> merges, final PreparedStatement statement)
+            throws InterruptedException, SQLException {
+        long changed = 0;
+        long lastReport = System.currentTimeMillis();
+        while (running && !job.finished) {
+            chunkStatement.setString(1, job.lastProfile);
+            chunkStatement.setInt(2, chunkSize);
+            final String upper;
+            final long profiles;
+            try (ResultSet result = chunkStatement.executeQuery()) {
+                upper = result.next() ? result.getString(1) : null;
+                profiles = upper == null ? 0 : result.getLong(2);
+            }
+            if (upper == null) {
+                job.finished = true;
+                break;
+            }
+            changed += processChunk(job, upper, connection, merges, statement);
+            job.lastProfile = upper;
+            job.done += profiles;
+            store(job);
+            if (System.currentTimeMillis() - lastReport >= PROGRESS_INTERVAL) {
+                lastReport = System.currentTimeMillis();
+                log.info(job + ": " + Math.min(100, job.done * 100 / Math.max(1, job.total)) + "% done, "
+                        + changed + " rows changed");
+            }
+            if (chunkDelay > 0) {
+                Thread.sleep(chunkDelay);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Changes the rows of the profiles after the last processed one up to the given one. A renamed row replaces a row
+     * that already has the new name, so they are merged first.
+     */
+    private int processChunk(final Job job, final String upper, final Connection connection,
+                             final List<PreparedStatement> merges, final PreparedStatement statement) throws SQLException {
+        try {
+            for (final PreparedStatement merge : merges) {
+                merge.setString(1, job.rename);
+                merge.setString(2, job.lastProfile);
+                merge.setString(3, upper);
+                merge.setString(4, job.name);
+                merge.setString(5, job.lastProfile);
+                merge.setString(6, upper);
+                merge.executeUpdate();
+            }
+            int index = 1;
+            if (job.rename != null) {
+                statement.setString(index++, job.rename);
+            }
+            statement.setString(index++, job.name);
+            statement.setString(index++, job.lastProfile);
+            statement.setString(index, upper);
+            final int changed = statement.executeUpdate();
+            connection.commit();
+            return changed;
+        } catch (final SQLException e) {
+            log.debug("Bulk operation " + job + " failed, rolling back the chunk", e);
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private void complete(final Job job, final long changed) {
+        remove(job);
+        log.info("Finished " + job + ", " + changed + " rows changed");
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            playerDataCache.invalidateAll();
+            if (job.onComplete != null) {
+                job.onComplete.run();
+            }
+        });
+    }
+
+    private synchronized void store(final Job job) {
+        if (state == null) {
+            return;
+        }
+        final ConfigurationSection section = state.getConfig().createSection(job.key);
+        section.set("operation", job.operation.name());
+        section.set("name", job.name);
+        section.set("rename", job.rename);
+        section.set("last_profile", job.lastProfile);
+        section.set("done", job.done);
+        section.set("total", job.total);
+        save();
+    }
+
+    private synchronized void remove(final Job job) {
+        if (state == null) {
+            return;
+        }
+        state.getConfig().set(job.key, null);
+        save();
+    }
+
+    private void save() {
+        try {
+            state.save();
+        } catch (final IOException e) {
+            log.error("Could not save the progress of the bulk operations: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * An operation on all rows of a table that contain a given name.
+     */
+    public enum Operation {
+        /**
+         * Renames a tag.
+         */
+        RENAME_TAGS("tags", "tag", true, false, true),
+        /**
+         * Deletes a tag.
+         */
+        DELETE_TAGS("tags", "tag", false, false, true),
+        /**
+         * Renames a point category, ignoring the case like {@link PlayerData#getPoint(String)}.
+         */
+        RENAME_POINTS("points", "category", true, true, true),
+        /**
+         * Deletes a point category, ignoring the case like {@link PlayerData#getPoint(String)}.
+         */
+        DELETE_POINTS("points", "category", false, true, true),
+        /**
+         * Renames an objective.
+         */
+        RENAME_OBJECTIVES("objectives", "objective", true, false, true),
+        /**
+         * Deletes an objective.
+         */
+        DELETE_OBJECTIVES("objectives", "objective", false, false, true),
+        /**
+         * Renames a journal entry, ignoring the case like {@link PlayerData#applyBulkChange(Operation, String, String)}.
+         */
+        RENAME_ENTRIES("journal", "pointer", true, true, false),
+        /**
+         * Deletes a journal entry, ignoring the case like {@link PlayerData#applyBulkChange(Operation, String, String)}.
+         */
+        DELETE_ENTRIES("journal", "pointer", false, true, false);
+
+        private final String table;
+
+        private final String column;
+
+        private final boolean rename;
+
+        /**
+         * Whether the name is matched ignoring its case.
+         */
+        private final boolean ignoreCase;
+
+        /**
+         * Whether a profile has at most one row with a name, so a renamed row must be merged with an existing one.
+         */
+        private final boolean unique;
+
+        Operation(final String table, final String column, final boolean rename, final boolean ignoreCase,
+                  final boolean unique) {
+            this.table = table;
+            this.column = column;
+            this.rename = rename;
+            this.ignoreCase = ignoreCase;
+            this.unique = unique;
+        }
+
+        /**
+         * @return true if the operation renames, false if it deletes
+         */
+        public boolean isRename() {
+            return rename;
+        }
+
+        /**
+         * Creates the statement for one chunk. Its arguments are the new name if the operation renames, the name and
+         * the exclusive lower and inclusive upper profile id of the chunk.
+         *
+         * @param prefix the table prefix
+         * @return the SQL statement
+         */
+        public String createSql(final String prefix) {
+            final String range = " WHERE " + match() + " AND profileID > ? AND profileID <= ?;";
+            return rename
+                    ? "UPDATE " + prefix + table + " SET " + column + " = ?" + range
+                    : "DELETE FROM " + prefix + table + range;
+        }
+
+        /**
+         * Checks if a rename does not change the name of any row, so there is nothing to merge.
+         *
+         * @param name   the name to rename
+         * @param rename the new name, null if the operation deletes
+         * @return true if the names are matched as the same one
+         */
+        public boolean isSameName(final String name, final String rename) {
+            return rename == null || (ignoreCase ? name.equalsIgnoreCase(rename) : name.equals(rename));
+        }
+
+        /**
+         * Creates the statements that merge the rows with the new name into the renamed rows of one chunk, so the
+         * rename does not create a second row with the same name for a profile. Points are added up like
+         * {@link PlayerData#applyBulkChange(Operation, String, String)} does, other rows with the new name are
+         * replaced by the renamed ones. The arguments of each statement are the new name, the exclusive lower and
+         * inclusive upper profile id of the chunk, the name and again the profile ids of the chunk.
+         *
+         * @param prefix the table prefix
+         * @return the SQL statements to run before {@link #createSql(String)}, empty if nothing has to be merged
+         */
+        public List<String> createMergeSql(final String prefix) {
+            if (!rename || !unique) {
+                return List.of();
+            }
+            final String tableName = prefix + table;
+            final String range = " AND profileID > ? AND profileID <= ?";
+            final String source = "SELECT profileID FROM (SELECT profileID FROM " + tableName
+                    + " WHERE " + match() + range + ") source";
+            final String delete = "DELETE FROM " + tableName + " WHERE " + match() + range
+                    + " AND profileID IN (" + source + ");";
+            if (!"points".equals(table)) {
+                return List.of(delete);
+            }
+            final String add = "UPDATE " + tableName + " SET count = count + COALESCE((SELECT target.count FROM "
+                    + "(SELECT profileID, count FROM " + tableName + " WHERE " + match() + range + ") target "
+                    + "WHERE target.profileID = " + tableName + ".profileID), 0) WHERE " + match() + range + ";";
+            return List.of(add, delete);
+        }
+
+        private String match() {
+            return ignoreCase ? "LOWER(" + column + ") = LOWER(?)" : column + " = ?";
+        }
+    }
+
+    /**
+     * A submitted operation with its progress.
+     */
+    private static class Job {
+        private final String key;
+
+        private final Operation operation;
+
+        private final String name;
+
+        private final String rename;
+
+        private final Runnable onComplete;
+
+        /**
+         * The id of the last processed profile, empty before the first chunk and null if the job was not prepared.
+         */
+        private String lastProfile;
+
+        private long done;
+
+        private long total;
+
+        private boolean finished;
+
+        Job(final String key, final Operation operation, final String name, final String rename, final Runnable onComplete) {
+            this.key = key;
+            this.operation = operation;
+            this.name = name;
+            this.rename = rename;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public String toString() {
+            return operation.name().toLowerCase(Locale.ROOT) + " '" + name + "'" + (rename == null ? "" : " to '" + rename + "'");
+        }
+    }
+}
@@ -8,9 +8,18 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
 
 /**
  * Connects to the database and queries it.
+ * <p>
+ * If the {@link Database} is pooled, every operation leases its own connection from the pool and returns it
+ * afterwards. Query results are then detached from the connection, so they can be read after it was returned.
  */
 public class Connector {
     /**
@@ -29,10 +38,22 @@ public class Connector {
     private final Database database;
 
     /**
-     * Permanently active connection to the database.
+     * Permanently active connection to the database, null if the database is pooled.
      */
     private Connection connection;
 
+    /**
+     * Connection of its own for the transactions of {@link #updateSQLBatch(List)}, opened on first use if the
+     * database is not pooled. The permanent connection is shared with other threads, whose statements would
+     * otherwise become part of the transaction.
+     */
+    private Connection batchConnection;
+
+    /**
+     * Factory for detached query results, created on first use.
+     */
+    private RowSetFactory rowSetFactory;
+
     /**
      * Opens a new connection to the database.
      */
@@ -41,14 +62,25 @@ public class Connector {
         this.log = plugin.getLoggerFactory().create(Connector.class);
         prefix = plugin.getPluginConfig().getString("mysql.prefix", "");
         database = plugin.getDB();
-        connection = database.getConnection();
+        connection = database.isPooled() ? null : database.getConnection();
     }
 
     /**
      * This method should be used before any other database operations.
+     * If the database is pooled, this leases a connection to let the pool validate it.
+     *
+     * @return true if the database is reachable
      */
     @SuppressFBWarnings({"ODR_OPEN_DATABASE_RESOURCE", "OBL_UNSATISFIED_OBLIGATION"})
     public final boolean refresh() {
+        if (database.isPooled()) {
+            try (Connection ignored = database.leaseConnection()) {
+                return true;
+            } catch (final SQLException e) {
+                log.warn("Could not lease a valid connection from the pool: " + e.getMessage(), e);
+                return false;
+            }
+        }
         if (connection == null) {
             connection = database.getConnection();
         } else {
@@ -90,15 +122,56 @@ public class Connector {
     public ResultSet querySQL(final QueryType type, final VariableResolver variableResolver) {
         final String sql = type.createSql(prefix);
         try {
-            final PreparedStatement statement = connection.prepareStatement(sql);
-            variableResolver.resolve(statement);
-            return statement.executeQuery();
+            if (!database.isPooled()) {
+                final PreparedStatement statement = connection.prepareStatement(sql);
+                variableResolver.resolve(statement);
+                return statement.executeQuery();
+            }
+            return withConnection(leased -> {
+                try (PreparedStatement statement = leased.prepareStatement(sql)) {
+                    variableResolver.resolve(statement);
+                    try (ResultSet result = statement.executeQuery()) {
+                        final CachedRowSet rows = getRowSetFactory().createCachedRowSet();
+                        rows.populate(result);
+                        return rows;
+                    }
+                }
+            });
         } catch (final SQLException e) {
             log.error("There was a exception with SQL", e);
             return null;
         }
     }
 
+    /**
+     * Runs the given queries one after another on a single connection, with the same arguments for each of them.
+     * Every result is passed to its consumer and closed before the next query is sent, so no result needs to be
+     * detached from the connection.
+     *
+     * @param queries the queries in execution order, mapped to the consumers of their results
+     * @param args    arguments for every query
+     * @return the time each query took including its consumer, in nanoseconds
+     * @throws SQLException if a query or a consumer failed
+     */
+    public Map<QueryType, Long> queryAll(final Map<QueryType, ResultConsumer> queries, final String... args) throws SQLException {
+        return withConnection(current -> {
+            final Map<QueryType, Long> timings = new EnumMap<>(QueryType.class);
+            for (final Map.Entry<QueryType, ResultConsumer> query : queries.entrySet()) {
+                final long start = System.nanoTime();
+                try (PreparedStatement statement = current.prepareStatement(query.getKey().createSql(prefix))) {
+                    for (int i = 0; i < args.length; i++) {
+                        statement.setString(i + 1, args[i]);
+                    }
+                    try (ResultSet result = statement.executeQuery()) {
+                        query.getValue().accept(result);
+                    }
+                }
+                timings.put(query.getKey(), System.nanoTime() - start);
+            }
+            return timings;
+        });
+    }
+
     /**
      * Updates the database with the given type and arguments.
      *
@@ -107,14 +180,151 @@ public class Connector {
      */
     public void updateSQL(final UpdateType type, final String... args) {
         final String sql = type.createSql(prefix);
-        try (PreparedStatement statement = connection.prepareStatement(sql)) {
-            for (int i = 0; i < args.length; i++) {
-                statement.setString(i + 1, args[i]);
+        try {
+            withConnection(current -> {
+                try (PreparedStatement statement = current.prepareStatement(sql)) {
+                    for (int i = 0; i < args.length; i++) {
+                        statement.setString(i + 1, args[i]);
+                    }
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (final SQLException e) {
+            log.error("There was an exception with SQL", e);
+        }
+    }
+
+    /**
+     * Updates the database with the given groups of records in a single transaction.
+     * Every group must only contain records of the same {@link UpdateType} and is sent as one JDBC batch.
+     * If any statement fails, the whole transaction is rolled back.
+     * <p>
+     * If the database is not pooled, the transaction runs on a connection of its own, which must only be used by one
+     * thread at a time. Call {@link #closeBatchConnection()} when no more batches are written.
+     *
+     * @param groups the groups of records to execute in order
+     * @return true if the transaction was committed, false if it was rolled back
+     */
+    public boolean updateSQLBatch(final List<List<Saver.Record>> groups) {
+        try {
+            if (!database.isPooled()) {
+                return executeBatch(getBatchConnection(), groups);
             }
-            statement.executeUpdate();
+            return withConnection(current -> executeBatch(current, groups));
         } catch (final SQLException e) {
             log.error("There was an exception with SQL", e);
+            // the connection may be broken, so the next batch opens a new one
+            closeBatchConnection();
+            return false;
+        }
+    }
+
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private boolean executeBatch(final Connection current, final List<List<Saver.Record>> groups) throws SQLException {
+        final boolean autoCommit = current.getAutoCommit();
+        current.setAutoCommit(false);
+        try {
+            for (final List<Saver.Record> group : groups) {
+                final String sql = group.get(0).getType().createSql(prefix);
+                try (PreparedStatement statement = current.prepareStatement(sql)) {
+                    for (final Saver.Record rec : group) {
+                        final String[] args = rec.getArgs();
+                        for (int i = 0; i < args.length; i++) {
+                            statement.setString(i + 1, args[i]);
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+            current.commit();
+            return true;
+        } catch (final SQLException e) {
+            log.debug("Batched update failed, rolling back the transaction", e);
+            current.rollback();
+            return false;
+        } finally {
+            current.setAutoCommit(autoCommit);
+        }
+    }
+
+    private Connection getBatchConnection() throws SQLException {
+        if (batchConnection == null || batchConnection.isClosed()) {
+            batchConnection = database.openDedicatedConnection();
+        }
+        return batchConnection;
+    }
+
+    /**
+     * Closes the connection of its own that {@link #updateSQLBatch(List)} uses if the database is not pooled.
+     */
+    public void closeBatchConnection() {
+        if (batchConnection == null) {
+            return;
+        }
+        try {
+            batchConnection.close();
+        } catch (final SQLException e) {
+            log.debug("Could not close the connection for batched updates", e);
         }
+        batchConnection = null;
+    }
+
+    /**
+     * Runs the given callback with a connection to the database. If the database is pooled, the connection is leased
+     * from the pool for the duration of the callback, otherwise the permanent connection is used.
+     * The callback must not keep a reference to the connection or to any result set after it returned.
+     *
+     * @param callback the callback to run
+     * @param <T>      the type of the result
+     * @return the result of the callback
+     * @throws SQLException if no connection could be obtained or the callback failed
+     */
+    public <T> T withConnection(final ConnectionCallback<T> callback) throws SQLException {
+        if (!database.isPooled()) {
+            return callback.apply(connection);
+        }
+        try (Connection leased = database.leaseConnection()) {
+            return callback.apply(leased);
+        }
+    }
+
+    private RowSetFactory getRowSetFactory() throws SQLException {
+        if (rowSetFactory == null) {
+            rowSetFactory = RowSetProvider.newFactory();
+        }
+        return rowSetFactory;
+    }
+
+    /**
+     * Consumer for the result of a query.
+     */
+    @FunctionalInterface
+    public interface ResultConsumer {
+        /**
+         * Reads the result. The result is closed after this method returned.
+         *
+         * @param result the result to read
+         * @throws SQLException if there is an error reading the result
+         */
+        void accept(ResultSet result) throws SQLException;
+    }
+
+    /**
+     * Callback that works with a connection to the database.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface ConnectionCallback<T> {
+        /**
+         * Works with the given connection.
+         *
+         * @param connection the connection to use
+         * @return the result
+         * @throws SQLException if there is an error using the connection
+         */
+        T apply(Connection connection) throws SQLException;
     }
 
     /**
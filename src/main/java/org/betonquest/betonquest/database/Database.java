@@ -1,17 +1,26 @@
 package org.betonquest.betonquest.database;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
 import org.bukkit.plugin.Plugin;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Set;
 import java.util.SortedMap;
 
 /**
  * Abstract Database class, serves as a base for any connection method (MySQL,
  * SQLite, etc.)
+ * <p>
+ * If pooling is enabled, {@link Connector}s lease a connection from a HikariCP pool for every operation instead of
+ * sharing the single connection returned by {@link #getConnection()}.
  */
 @SuppressWarnings({"PMD.CommentRequired", "PMD.AvoidDuplicateLiterals"})
 public abstract class Database {
@@ -21,6 +30,26 @@ public abstract class Database {
 
     protected final String profileInitialName;
 
+    /**
+     * Whether connections should be leased from a pool.
+     */
+    protected final boolean pooled;
+
+    /**
+     * The maximum amount of connections in the pool.
+     */
+    protected final int poolSize;
+
+    /**
+     * The amount of prepared statements cached per connection, if supported by the driver.
+     */
+    protected final int statementCacheSize;
+
+    /**
+     * The time in milliseconds a connection can be leased before it is reported as possible leak. 0 disables it.
+     */
+    protected final long leakDetectionThreshold;
+
     /**
      * Custom {@link BetonQuestLogger} instance for this class.
      */
@@ -28,11 +57,125 @@ public abstract class Database {
 
     protected Connection con;
 
+    /**
+     * The connection pool, created on first use if pooling is enabled.
+     */
+    private HikariDataSource dataSource;
+
     protected Database(final BetonQuestLogger log, final BetonQuest plugin) {
         this.log = log;
         this.plugin = plugin;
         this.prefix = plugin.getPluginConfig().getString("mysql.prefix", "");
         this.profileInitialName = plugin.getPluginConfig().getString("profiles.initial_name", "");
+        this.pooled = plugin.getPluginConfig().getBoolean("mysql.pool.enabled", false);
+        this.poolSize = Math.max(1, plugin.getPluginConfig().getInt("mysql.pool.size", 10));
+        this.statementCacheSize = plugin.getPluginConfig().getInt("mysql.pool.statement_cache_size", 250);
+        this.leakDetectionThreshold = plugin.getPluginConfig().getLong("mysql.pool.leak_detection_threshold", 0);
+    }
+
+    /**
+     * Checks if connections are leased from a pool.
+     *
+     * @return true if pooling is enabled
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Gets the maximum amount of connections in the pool.
+     *
+     * @return the pool size
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Prepares a read only query whose result is fetched row by row while it is read,
+     * instead of being loaded into memory at once.
+     *
+     * @param connection the connection to prepare the query on
+     * @param sql        the query
+     * @return the prepared query
+     * @throws SQLException if the query could not be prepared
+     */
+    public PreparedStatement prepareStreamingQuery(final Connection connection, final String sql) throws SQLException {
+        return connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * Opens a connection for a long running operation that must not block the permanent connection.
+     * If the database is pooled, the connection is leased from the pool.
+     * The caller must close the connection.
+     *
+     * @return a connection that is not shared
+     * @throws SQLException if no connection could be obtained
+     */
+    @SuppressWarnings("PMD.CloseResource")
+    public Connection openDedicatedConnection() throws SQLException {
+        if (pooled) {
+            return leaseConnection();
+        }
+        final Connection connection = openConnection();
+        if (connection == null) {
+            throw new SQLException("Could not open a database connection!");
+        }
+        return connection;
+    }
+
+    /**
+     * Leases a connection from the pool. The pool validates the connection before handing it out.
+     * The caller must close the connection to return it to the pool.
+     *
+     * @return a valid connection from the pool
+     * @throws SQLException if pooling is disabled or no connection could be obtained
+     */
+    public Connection leaseConnection() throws SQLException {
+        if (!pooled) {
+            throw new SQLException("Connection pooling is disabled!");
+        }
+        final HikariDataSource source;
+        synchronized (this) {
+            if (dataSource == null) {
+                try {
+                    dataSource = new HikariDataSource(createPoolConfig());
+                } catch (final HikariPool.PoolInitializationException e) {
+                    throw new SQLException("Could not initialize the connection pool!", e);
+                }
+            }
+            source = dataSource;
+        }
+        return source.getConnection();
+    }
+
+    private HikariConfig createPoolConfig() {
+        final HikariConfig poolConfig = new HikariConfig();
+        poolConfig.setPoolName("BetonQuest-" + getClass().getSimpleName());
+        poolConfig.setMaximumPoolSize(poolSize);
+        poolConfig.setLeakDetectionThreshold(leakDetectionThreshold);
+        configurePool(poolConfig);
+        return poolConfig;
+    }
+
+    /**
+     * Configures the driver specific settings of the connection pool, like the JDBC URL, credentials and the
+     * statement cache.
+     *
+     * @param poolConfig the pool configuration to complete
+     */
+    protected abstract void configurePool(HikariConfig poolConfig);
+
+    /**
+     * Closes the connection pool and all connections in it.
+     */
+    public void closePool() {
+        synchronized (this) {
+            if (dataSource != null) {
+                dataSource.close();
+                dataSource = null;
+            }
+        }
     }
 
     public Connection getConnection() {
@@ -76,6 +219,59 @@ public abstract class Database {
         }
     }
 
+    /**
+     * Checks the query plan of every {@link QueryType} that filters its rows and warns about each one that has to scan
+     * a whole table. Such queries get slow with large tables, which usually means an index is missing.
+     */
+    public final void checkQueryPlans() {
+        try {
+            final Connection connection = getConnection();
+            for (final QueryType type : QueryType.values()) {
+                final String sql = type.createSql(prefix);
+                if (!sql.contains(" WHERE ")) {
+                    continue;
+                }
+                final List<String> fullScans = findFullScans(connection, sql);
+                if (!fullScans.isEmpty()) {
+                    log.warn("The database query " + type + " has to scan the whole table: " + String.join(", ", fullScans)
+                             + ". This can get slow with a lot of data, check the indexes of your database!");
+                }
+            }
+        } catch (final SQLException e) {
+            log.warn("Could not check the query plans of the database: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Explains the given query and returns a description of every table that is scanned completely.
+     *
+     * @param connection the connection to the database
+     * @param sql        the query to explain, it may contain parameters
+     * @return the descriptions of all full table scans, empty if there are none
+     * @throws SQLException if the query could not be explained
+     */
+    protected abstract List<String> findFullScans(Connection connection, String sql) throws SQLException;
+
+    /**
+     * Binds placeholder values to all parameters of a statement, so its query plan can be explained.
+     * Parameters of a {@code LIMIT} clause get a number, all others an empty string.
+     *
+     * @param statement the statement to bind the parameters to
+     * @param sql       the SQL of the statement
+     * @throws SQLException if a parameter could not be set
+     */
+    protected static void bindPlaceholders(final PreparedStatement statement, final String sql) throws SQLException {
+        int index = 0;
+        for (int i = sql.indexOf('?'); i >= 0; i = sql.indexOf('?', i + 1)) {
+            index++;
+            if (sql.substring(0, i).trim().endsWith("LIMIT")) {
+                statement.setInt(index, 1);
+            } else {
+                statement.setString(index, "");
+            }
+        }
+    }
+
     /**
      * Returns a SortedMap of all migrations with an identifier as {@link MigrationKey} and the migration function as
      * Value.
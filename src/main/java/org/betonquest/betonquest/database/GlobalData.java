@@ -1,5 +1,6 @@
 package org.betonquest.betonquest.database;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.Point;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
@@ -8,12 +9,19 @@ import org.betonquest.betonquest.database.Saver.Record;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents an object storing all player-related data, which can load and save it.
  */
 @SuppressWarnings({"PMD.CommentRequired", "PMD.TooManyMethods"})
+@SuppressFBWarnings("JLM_JSR166_UTILCONCURRENT_MONITORENTER")
 public class GlobalData implements TagData {
     /**
      * Custom {@link BetonQuestLogger} instance for this class.
@@ -23,9 +31,12 @@ public class GlobalData implements TagData {
     @SuppressWarnings("PMD.DoNotUseThreads")
     private final Saver saver = BetonQuest.getInstance().getSaver();
 
-    private final List<String> globalTags = new ArrayList<>();
+    private final Set<String> globalTags = ConcurrentHashMap.newKeySet();
 
-    private final List<Point> globalPoints = new ArrayList<>();
+    /**
+     * Global point categories by their lower case name, as categories are case-insensitive.
+     */
+    private final Map<String, Point> globalPoints = new ConcurrentHashMap<>();
 
     /**
      * Loads all global data from the database.
@@ -43,10 +54,16 @@ public class GlobalData implements TagData {
             try (ResultSet globalTags = con.querySQL(QueryType.LOAD_ALL_GLOBAL_TAGS);
                  ResultSet globalPoints = con.querySQL(QueryType.LOAD_ALL_GLOBAL_POINTS)) {
                 while (globalTags.next()) {
-                    this.globalTags.add(globalTags.getString("tag"));
+                    final String tag = globalTags.getString("tag");
+                    if (tag != null) {
+                        this.globalTags.add(tag);
+                    }
                 }
                 while (globalPoints.next()) {
-                    this.globalPoints.add(new Point(globalPoints.getString("category"), globalPoints.getInt("count")));
+                    final String category = globalPoints.getString("category");
+                    if (category != null) {
+                        this.globalPoints.put(categoryKey(category), new Point(category, globalPoints.getInt("count")));
+                    }
                 }
                 log.debug("There are " + this.globalTags.size() + " global_tags and " + this.globalPoints.size()
                         + " global_points loaded");
@@ -57,13 +74,13 @@ public class GlobalData implements TagData {
     }
 
     /**
-     * Returns the List of Tags
+     * Returns a snapshot of the global Tags.
      *
      * @return the List of Tags
      */
     @Override
     public List<String> getTags() {
-        return globalTags;
+        return Collections.unmodifiableList(new ArrayList<>(globalTags));
     }
 
     /**
@@ -74,7 +91,7 @@ public class GlobalData implements TagData {
      */
     @Override
     public boolean hasTag(final String tag) {
-        return globalTags.contains(tag);
+        return tag != null && globalTags.contains(tag);
     }
 
     /**
@@ -84,10 +101,12 @@ public class GlobalData implements TagData {
      */
     @Override
     public void addTag(final String tag) {
-        if (!globalTags.contains(tag)) {
-            globalTags.add(tag);
-            saver.add(new Record(UpdateType.ADD_GLOBAL_TAGS, tag));
+        synchronized (globalTags) {
+            if (globalTags.add(tag)) {
+                saver.add(new Record(UpdateType.ADD_GLOBAL_TAGS, tag));
+            }
         }
+        invalidateCaches();
     }
 
     /**
@@ -98,17 +117,30 @@ public class GlobalData implements TagData {
      */
     @Override
     public void removeTag(final String tag) {
-        globalTags.remove(tag);
-        saver.add(new Record(UpdateType.REMOVE_GLOBAL_TAGS, tag));
+        synchronized (globalTags) {
+            globalTags.remove(tag);
+            saver.add(new Record(UpdateType.REMOVE_GLOBAL_TAGS, tag));
+        }
+        invalidateCaches();
     }
 
     /**
-     * Returns the List of Points.
+     * Returns a snapshot of the global Points.
      *
      * @return the List of Points
      */
     public List<Point> getPoints() {
-        return globalPoints;
+        return Collections.unmodifiableList(new ArrayList<>(globalPoints.values()));
+    }
+
+    /**
+     * Returns the global_points of the specified category. Categories are case-insensitive.
+     *
+     * @param category name of the category
+     * @return the global_points or an empty Optional if the category does not exist
+     */
+    public Optional<Point> getPoint(final String category) {
+        return Optional.ofNullable(globalPoints.get(categoryKey(category)));
     }
 
     /**
@@ -120,12 +152,7 @@ public class GlobalData implements TagData {
      */
     @SuppressWarnings("PMD.LinguisticNaming")
     public int hasPointsFromCategory(final String category) {
-        for (final Point p : globalPoints) {
-            if (p.getCategory().equals(category)) {
-                return p.getCount();
-            }
-        }
-        return 0;
+        return getPoint(category).map(Point::getCount).orElse(0);
     }
 
     /**
@@ -136,20 +163,13 @@ public class GlobalData implements TagData {
      * @param count    how much global_points will be added (or subtracted if negative)
      */
     public void modifyPoints(final String category, final int count) {
-        saver.add(new Record(UpdateType.REMOVE_GLOBAL_POINTS, category));
-        // check if the category already exists
-        for (final Point point : globalPoints) {
-            if (point.getCategory().equalsIgnoreCase(category)) {
-                // if it does, add global_points to it
-                saver.add(new Record(UpdateType.ADD_GLOBAL_POINTS,
-                        category, String.valueOf(point.getCount() + count)));
-                point.addPoints(count);
-                return;
-            }
+        synchronized (globalPoints) {
+            final Point point = globalPoints.computeIfAbsent(categoryKey(category), key -> new Point(category, 0));
+            point.addPoints(count);
+            saver.add(new Record(UpdateType.REMOVE_GLOBAL_POINTS, point.getCategory()));
+            saver.add(new Record(UpdateType.ADD_GLOBAL_POINTS, point.getCategory(), String.valueOf(point.getCount())));
         }
-        // if not then create new point category with given amount of global_points
-        globalPoints.add(new Point(category, count));
-        saver.add(new Record(UpdateType.ADD_GLOBAL_POINTS, category, String.valueOf(count)));
+        invalidateCaches();
     }
 
     /**
@@ -160,10 +180,12 @@ public class GlobalData implements TagData {
      * @param count    how much global_points will be set
      */
     public void setPoints(final String category, final int count) {
-        saver.add(new Record(UpdateType.REMOVE_GLOBAL_POINTS, category));
-        globalPoints.removeIf(point -> point.getCategory().equalsIgnoreCase(category));
-        globalPoints.add(new Point(category, count));
-        saver.add(new Record(UpdateType.ADD_GLOBAL_POINTS, category, String.valueOf(count)));
+        synchronized (globalPoints) {
+            final Point previous = globalPoints.put(categoryKey(category), new Point(category, count));
+            saver.add(new Record(UpdateType.REMOVE_GLOBAL_POINTS, previous == null ? category : previous.getCategory()));
+            saver.add(new Record(UpdateType.ADD_GLOBAL_POINTS, category, String.valueOf(count)));
+        }
+        invalidateCaches();
     }
 
     /**
@@ -172,16 +194,23 @@ public class GlobalData implements TagData {
      * @param category name of a point category
      */
     public void removePointsCategory(final String category) {
-        Point pointToRemove = null;
-        for (final Point point : globalPoints) {
-            if (point.getCategory().equalsIgnoreCase(category)) {
-                pointToRemove = point;
-            }
-        }
-        if (pointToRemove != null) {
-            globalPoints.remove(pointToRemove);
+        synchronized (globalPoints) {
+            final Point previous = globalPoints.remove(categoryKey(category));
+            saver.add(new Record(UpdateType.REMOVE_GLOBAL_POINTS, previous == null ? category : previous.getCategory()));
         }
-        saver.add(new Record(UpdateType.REMOVE_GLOBAL_POINTS, category));
+        invalidateCaches();
+    }
+
+    /**
+     * Forgets all cached condition results and variable values after the global data changed.
+     */
+    private void invalidateCaches() {
+        BetonQuest.getInstance().getConditionCache().invalidateAll();
+        BetonQuest.getInstance().getVariableCache().invalidateAll();
+    }
+
+    private static String categoryKey(final String category) {
+        return category.toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -194,6 +223,7 @@ public class GlobalData implements TagData {
         // clear the database
         saver.add(new Record(UpdateType.DELETE_GLOBAL_POINTS));
         saver.add(new Record(UpdateType.DELETE_GLOBAL_TAGS));
+        invalidateCaches();
     }
 
     /**
@@ -204,6 +234,7 @@ public class GlobalData implements TagData {
         globalTags.clear();
         // clear the database
         saver.add(new Record(UpdateType.DELETE_GLOBAL_TAGS));
+        invalidateCaches();
     }
 
     /**
@@ -214,5 +245,6 @@ public class GlobalData implements TagData {
         globalPoints.clear();
         // clear the database
         saver.add(new Record(UpdateType.DELETE_GLOBAL_POINTS));
+        invalidateCaches();
     }
 }
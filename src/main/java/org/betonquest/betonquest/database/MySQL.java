@@ -1,5 +1,6 @@
 package org.betonquest.betonquest.database;
 
+import com.zaxxer.hikari.HikariConfig;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
@@ -10,7 +11,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -68,15 +71,59 @@ public class MySQL extends Database {
         return connection;
     }
 
+    @Override
+    protected void configurePool(final HikariConfig poolConfig) {
+        poolConfig.setDriverClassName("com.mysql.jdbc.Driver");
+        poolConfig.setJdbcUrl("jdbc:mysql://" + this.hostname + ":" + this.port + "/" + this.database + "?&useSSL=false");
+        poolConfig.setUsername(this.user);
+        poolConfig.setPassword(this.password);
+        if (statementCacheSize > 0) {
+            poolConfig.addDataSourceProperty("cachePrepStmts", "true");
+            poolConfig.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            poolConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            poolConfig.addDataSourceProperty("useServerPrepStmts", "true");
+        }
+    }
+
     @Override
     protected SortedMap<MigrationKey, DatabaseUpdate> getMigrations() {
         final SortedMap<MigrationKey, DatabaseUpdate> migrations = new TreeMap<>();
         migrations.put(new MigrationKey("betonquest", 1), this::migration1);
         migrations.put(new MigrationKey("betonquest", 2), this::migration2);
         migrations.put(new MigrationKey("betonquest", 3), this::migration3);
+        migrations.put(new MigrationKey("betonquest", 4), this::migration4);
         return migrations;
     }
 
+    /**
+     * Prepares a read only query and tells the driver to stream the result row by row, as the MySQL driver
+     * otherwise reads the whole result into memory.
+     */
+    @Override
+    @SuppressWarnings("PMD.CloseResource")
+    public PreparedStatement prepareStreamingQuery(final Connection connection, final String sql) throws SQLException {
+        final PreparedStatement statement = super.prepareStreamingQuery(connection, sql);
+        statement.setFetchSize(Integer.MIN_VALUE);
+        return statement;
+    }
+
+    @Override
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    protected List<String> findFullScans(final Connection connection, final String sql) throws SQLException {
+        final List<String> fullScans = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            bindPlaceholders(statement, sql);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    if ("ALL".equalsIgnoreCase(result.getString("type"))) {
+                        fullScans.add(result.getString("table"));
+                    }
+                }
+            }
+        }
+        return fullScans;
+    }
+
     @Override
     @SuppressFBWarnings("SQL_NONCONSTANT_STRING_PASSED_TO_EXECUTE")
     protected Set<MigrationKey> queryExecutedMigrations(final Connection connection) throws SQLException {
@@ -258,4 +305,23 @@ public class MySQL extends Database {
                                     + "MODIFY COLUMN name VARCHAR(63) NOT NULL");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Executes the fourth migration. It adds indexes for all columns that are used to look up rows.
+     *
+     * @param connection the connection to the database
+     * @throws SQLException if something goes wrong, while executing the query's
+     */
+    @SuppressFBWarnings("SQL_NONCONSTANT_STRING_PASSED_TO_EXECUTE")
+    private void migration4(final Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE INDEX " + prefix + "objectives_objective_idx ON " + prefix + "objectives (objective)");
+            statement.executeUpdate("CREATE INDEX " + prefix + "tags_tag_idx ON " + prefix + "tags (tag)");
+            statement.executeUpdate("CREATE INDEX " + prefix + "points_category_idx ON " + prefix + "points (category, count, profileID)");
+            statement.executeUpdate("CREATE INDEX " + prefix + "journal_profile_idx ON " + prefix + "journal (profileID, pointer, date)");
+            statement.executeUpdate("CREATE INDEX " + prefix + "journal_pointer_idx ON " + prefix + "journal (pointer)");
+            statement.executeUpdate("CREATE INDEX " + prefix + "backpack_profile_idx ON " + prefix + "backpack (profileID)");
+            statement.executeUpdate("CREATE INDEX " + prefix + "player_active_profile_idx ON " + prefix + "player (active_profile, playerID)");
+        }
+    }
+}
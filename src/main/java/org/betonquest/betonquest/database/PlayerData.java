@@ -23,10 +23,15 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents an object storing all profile-related data, which can load and save it.
@@ -46,17 +51,33 @@ public class PlayerData implements TagData {
 
     private final String profileID;
 
-    private final List<String> tags = new CopyOnWriteArrayList<>();
+    private final Set<String> tags = ConcurrentHashMap.newKeySet();
 
     private final List<Pointer> entries = new CopyOnWriteArrayList<>();
 
-    private final List<Point> points = new CopyOnWriteArrayList<>();
+    /**
+     * Point categories by their lower case name, as categories are case-insensitive.
+     */
+    private final Map<String, Point> points = new ConcurrentHashMap<>();
 
     private final Map<String, String> objectives = new ConcurrentHashMap<>();
 
     private Journal journal;
 
-    private List<ItemStack> backpack = new CopyOnWriteArrayList<>();
+    /**
+     * Backpack items as loaded from the database, until they are decoded on first use.
+     */
+    private final List<SerializedItem> serializedBackpack = new ArrayList<>();
+
+    /**
+     * The decoded backpack items, null until first use.
+     */
+    private volatile List<ItemStack> backpack;
+
+    /**
+     * The backpack rows in the database, to persist only changed rows.
+     */
+    private final BackpackStore backpackStore;
 
     private String conv;
 
@@ -70,90 +91,132 @@ public class PlayerData implements TagData {
     public PlayerData(final Profile profile) {
         this.profile = profile;
         this.profileID = profile.getProfileUUID().toString();
+        this.backpackStore = new BackpackStore(saver, profileID);
         loadAllPlayerData();
     }
 
     /**
      * Loads all data for the profile and puts it in appropriate lists.
+     * All tables are read one after another on the same connection. Backpack items are only decoded on first use.
      */
-    @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity", "PMD.CognitiveComplexity", "PMD.AvoidDuplicateLiterals"})
     public final void loadAllPlayerData() {
+        final Map<QueryType, Connector.ResultConsumer> queries = new LinkedHashMap<>();
+        queries.put(QueryType.SELECT_OBJECTIVES, this::loadObjectives);
+        queries.put(QueryType.SELECT_TAGS, this::loadTags);
+        queries.put(QueryType.SELECT_JOURNAL, this::loadJournal);
+        queries.put(QueryType.SELECT_POINTS, this::loadPoints);
+        queries.put(QueryType.SELECT_BACKPACK, this::loadBackpack);
+        queries.put(QueryType.SELECT_PLAYER, this::loadPlayer);
         try {
+            final Map<QueryType, Long> timings = new Connector().queryAll(queries, profileID);
+            final StringBuilder timingMessage = new StringBuilder();
+            long total = 0;
+            for (final Map.Entry<QueryType, Long> timing : timings.entrySet()) {
+                total += timing.getValue();
+                timingMessage.append(' ').append(timing.getKey()).append('=')
+                        .append(String.format(Locale.ROOT, "%.2fms", timing.getValue() / 1_000_000.0));
+            }
+            log.debug("There are " + objectives.size() + " objectives, " + tags.size() + " tags, " + points.size()
+                    + " points, " + entries.size() + " journal entries and " + serializedBackpack.size()
+                    + " items loaded for " + profile + " in " + TimeUnit.NANOSECONDS.toMillis(total) + "ms:" + timingMessage);
+        } catch (final SQLException e) {
+            log.error("There was an exception with SQL", e);
+        }
+    }
 
-            final Connector con = new Connector();
+    private void loadObjectives(final ResultSet objectiveResults) throws SQLException {
+        while (objectiveResults.next()) {
+            objectives.put(objectiveResults.getString("objective"), objectiveResults.getString("instructions"));
+        }
+    }
 
-            try (ResultSet objectiveResults = con.querySQL(QueryType.SELECT_OBJECTIVES, profileID);
-                 ResultSet tagResults = con.querySQL(QueryType.SELECT_TAGS, profileID);
-                 ResultSet journalResults = con.querySQL(QueryType.SELECT_JOURNAL, profileID);
-                 ResultSet pointResults = con.querySQL(QueryType.SELECT_POINTS, profileID);
-                 ResultSet backpackResults = con.querySQL(QueryType.SELECT_BACKPACK, profileID);
-                 ResultSet playerResult = con.querySQL(QueryType.SELECT_PLAYER, profileID)) {
+    private void loadTags(final ResultSet tagResults) throws SQLException {
+        while (tagResults.next()) {
+            final String tag = tagResults.getString("tag");
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+    }
 
-                while (objectiveResults.next()) {
-                    objectives.put(objectiveResults.getString("objective"), objectiveResults.getString("instructions"));
-                }
+    private void loadJournal(final ResultSet journalResults) throws SQLException {
+        while (journalResults.next()) {
+            entries.add(new Pointer(journalResults.getString("pointer"), journalResults.getTimestamp("date").getTime()));
+        }
+    }
 
-                while (tagResults.next()) {
-                    tags.add(tagResults.getString("tag"));
-                }
+    private void loadPoints(final ResultSet pointResults) throws SQLException {
+        while (pointResults.next()) {
+            final String category = pointResults.getString("category");
+            if (category != null) {
+                points.put(categoryKey(category), new Point(category, pointResults.getInt("count")));
+            }
+        }
+    }
 
-                while (journalResults.next()) {
-                    entries.add(new Pointer(journalResults.getString("pointer"), journalResults.getTimestamp("date").getTime()));
-                }
+    private void loadBackpack(final ResultSet backpackResults) throws SQLException {
+        while (backpackResults.next()) {
+            final String instruction = backpackResults.getString("instruction");
+            final int amount = backpackResults.getInt("amount");
+            serializedBackpack.add(new SerializedItem(instruction, amount));
+            backpackStore.addLoaded(instruction, amount);
+        }
+    }
 
-                while (pointResults.next()) {
-                    points.add(new Point(pointResults.getString("category"), pointResults.getInt("count")));
-                }
+    private void loadPlayer(final ResultSet playerResult) throws SQLException {
+        if (playerResult.next()) {
+            profileLanguage = playerResult.getString("language");
+            if ("default".equals(profileLanguage)) {
+                profileLanguage = Config.getLanguage();
+            }
+            conv = playerResult.getString("conversation");
+            if (conv == null || conv.equalsIgnoreCase("null")) {
+                conv = null;
+            }
+        } else {
+            profileLanguage = Config.getLanguage();
+            saver.add(new Record(UpdateType.ADD_PROFILE, profileID));
+            saver.add(new Record(UpdateType.ADD_PLAYER, profile.getPlayer().getUniqueId().toString(),
+                    profileID, "default"));
+            saver.add(new Record(UpdateType.ADD_PLAYER_PROFILE, profile.getPlayer().getUniqueId().toString(),
+                    profileID, BetonQuest.getInstance().getPluginConfig().getString("profiles.initial_name", "default")));
+        }
+    }
 
-                while (backpackResults.next()) {
-                    final String instruction = backpackResults.getString("instruction");
-                    final int amount = backpackResults.getInt("amount");
-                    final ItemStack item;
+    /**
+     * Returns the backpack items, decoding the items loaded from the database on first use.
+     *
+     * @return the live list of backpack items
+     */
+    private List<ItemStack> backpackItems() {
+        synchronized (serializedBackpack) {
+            if (backpack == null) {
+                final List<ItemStack> items = new CopyOnWriteArrayList<>();
+                for (final SerializedItem serialized : serializedBackpack) {
                     try {
-                        item = new QuestItem(instruction).generate(amount);
+                        final ItemStack item = new QuestItem(serialized.instruction).generate(serialized.amount);
+                        backpackStore.remember(item, serialized.instruction);
+                        items.add(item);
                     } catch (final InstructionParseException e) {
                         log.warn("Could not load backpack item for " + profile
-                                + ", with instruction '" + instruction + "', because: " + e.getMessage(), e);
-                        continue;
-                    }
-                    backpack.add(item);
-                }
-
-                if (playerResult.next()) {
-                    profileLanguage = playerResult.getString("language");
-                    if ("default".equals(profileLanguage)) {
-                        profileLanguage = Config.getLanguage();
-                    }
-                    conv = playerResult.getString("conversation");
-                    if (conv == null || conv.equalsIgnoreCase("null")) {
-                        conv = null;
+                                + ", with instruction '" + serialized.instruction + "', because: " + e.getMessage(), e);
                     }
-                } else {
-                    profileLanguage = Config.getLanguage();
-                    saver.add(new Record(UpdateType.ADD_PROFILE, profileID));
-                    saver.add(new Record(UpdateType.ADD_PLAYER, profile.getPlayer().getUniqueId().toString(),
-                            profileID, "default"));
-                    saver.add(new Record(UpdateType.ADD_PLAYER_PROFILE, profile.getPlayer().getUniqueId().toString(),
-                            profileID, BetonQuest.getInstance().getPluginConfig().getString("profiles.initial_name", "default")));
                 }
-
-                log.debug("There are " + objectives.size() + " objectives, " + tags.size() + " tags, " + points.size()
-                        + " points, " + entries.size() + " journal entries and " + backpack.size()
-                        + " items loaded for " + profile);
+                serializedBackpack.clear();
+                backpack = items;
             }
-        } catch (final SQLException e) {
-            log.error("There was an exception with SQL", e);
+            return backpack;
         }
     }
 
     /**
-     * Returns the List of Tags for this profile.
+     * Returns a snapshot of the Tags of this profile.
      *
      * @return the List of Tags
      */
     @Override
     public List<String> getTags() {
-        return Collections.unmodifiableList(tags);
+        return Collections.unmodifiableList(new ArrayList<>(tags));
     }
 
     /**
@@ -164,7 +227,7 @@ public class PlayerData implements TagData {
      */
     @Override
     public boolean hasTag(final String tag) {
-        return tags.contains(tag);
+        return tag != null && tags.contains(tag);
     }
 
     /**
@@ -175,9 +238,9 @@ public class PlayerData implements TagData {
     @Override
     public void addTag(final String tag) {
         synchronized (tags) {
-            if (!tags.contains(tag)) {
-                tags.add(tag);
+            if (tags.add(tag)) {
                 saver.add(new Record(UpdateType.ADD_TAGS, profileID, tag));
+                invalidateCaches();
                 BetonQuest.getInstance()
                         .callSyncBukkitEvent(new PlayerTagAddEvent(profile, tag));
             }
@@ -193,9 +256,9 @@ public class PlayerData implements TagData {
     @Override
     public void removeTag(final String tag) {
         synchronized (tags) {
-            if (tags.contains(tag)) {
-                tags.remove(tag);
+            if (tags.remove(tag)) {
                 saver.add(new Record(UpdateType.REMOVE_TAGS, profileID, tag));
+                invalidateCaches();
                 BetonQuest.getInstance()
                         .callSyncBukkitEvent(new PlayerTagRemoveEvent(profile, tag));
             }
@@ -203,12 +266,22 @@ public class PlayerData implements TagData {
     }
 
     /**
-     * Returns the List of Points for this profile.
+     * Returns a snapshot of the Points of this profile.
      *
      * @return the List of Points
      */
     public List<Point> getPoints() {
-        return Collections.unmodifiableList(points);
+        return Collections.unmodifiableList(new ArrayList<>(points.values()));
+    }
+
+    /**
+     * Returns the points of the specified category. Categories are case-insensitive.
+     *
+     * @param category name of the category
+     * @return the points or an empty Optional if the category does not exist
+     */
+    public Optional<Point> getPoint(final String category) {
+        return Optional.ofNullable(points.get(categoryKey(category)));
     }
 
     /**
@@ -220,14 +293,7 @@ public class PlayerData implements TagData {
      */
     @SuppressWarnings("PMD.LinguisticNaming")
     public int hasPointsFromCategory(final String category) {
-        synchronized (points) {
-            for (final Point p : points) {
-                if (p.getCategory().equals(category)) {
-                    return p.getCount();
-                }
-            }
-            return 0;
-        }
+        return getPoint(category).map(Point::getCount).orElse(0);
     }
 
     /**
@@ -239,21 +305,12 @@ public class PlayerData implements TagData {
      */
     public void modifyPoints(final String category, final int count) {
         synchronized (points) {
-            saver.add(new Record(UpdateType.REMOVE_POINTS, profileID, category));
-            // check if the category already exists
-            for (final Point point : points) {
-                if (point.getCategory().equalsIgnoreCase(category)) {
-                    // if it does, add points to it
-                    saver.add(new Record(UpdateType.ADD_POINTS,
-                            profileID, category, String.valueOf(point.getCount() + count)));
-                    point.addPoints(count);
-                    return;
-                }
-            }
-            // if not then create new point category with given amount of points
-            points.add(new Point(category, count));
-            saver.add(new Record(UpdateType.ADD_POINTS, profileID, category, String.valueOf(count)));
+            final Point point = points.computeIfAbsent(categoryKey(category), key -> new Point(category, 0));
+            point.addPoints(count);
+            saver.add(new Record(UpdateType.REMOVE_POINTS, profileID, point.getCategory()));
+            saver.add(new Record(UpdateType.ADD_POINTS, profileID, point.getCategory(), String.valueOf(point.getCount())));
         }
+        invalidateCaches();
     }
 
     /**
@@ -265,11 +322,11 @@ public class PlayerData implements TagData {
      */
     public void setPoints(final String category, final int count) {
         synchronized (points) {
-            saver.add(new Record(UpdateType.REMOVE_POINTS, profileID, category));
-            points.removeIf(point -> point.getCategory().equalsIgnoreCase(category));
-            points.add(new Point(category, count));
+            final Point previous = points.put(categoryKey(category), new Point(category, count));
+            saver.add(new Record(UpdateType.REMOVE_POINTS, profileID, previous == null ? category : previous.getCategory()));
             saver.add(new Record(UpdateType.ADD_POINTS, profileID, category, String.valueOf(count)));
         }
+        invalidateCaches();
     }
 
     /**
@@ -279,19 +336,77 @@ public class PlayerData implements TagData {
      */
     public void removePointsCategory(final String category) {
         synchronized (points) {
-            Point pointToRemove = null;
-            for (final Point point : points) {
-                if (point.getCategory().equalsIgnoreCase(category)) {
-                    pointToRemove = point;
+            final Point previous = points.remove(categoryKey(category));
+            saver.add(new Record(UpdateType.REMOVE_POINTS, profileID, previous == null ? category : previous.getCategory()));
+        }
+        invalidateCaches();
+    }
+
+    /**
+     * Forgets the cached condition results and variable values of the profile after its data changed.
+     */
+    private void invalidateCaches() {
+        BetonQuest.getInstance().getConditionCache().invalidate(profile);
+        BetonQuest.getInstance().getVariableCache().invalidate(profile);
+    }
+
+    /**
+     * Applies an operation that {@link BulkMaintenance} runs for all profiles to this profile.
+     * The changed rows are written through the saver, so the bulk operation finds nothing left to change for this
+     * profile and can't overwrite later changes. Objectives are not handled here, as they must be restarted.
+     *
+     * @param operation the bulk operation
+     * @param name      the renamed or deleted tag, point category or journal entry
+     * @param rename    the new name, null if the operation deletes
+     */
+    public void applyBulkChange(final BulkMaintenance.Operation operation, final String name, final String rename) {
+        switch (operation) {
+            case RENAME_TAGS:
+            case DELETE_TAGS:
+                synchronized (tags) {
+                    if (hasTag(name)) {
+                        removeTag(name);
+                        if (rename != null) {
+                            addTag(rename);
+                        }
+                    }
                 }
-            }
-            if (pointToRemove != null) {
-                points.remove(pointToRemove);
-            }
-            saver.add(new Record(UpdateType.REMOVE_POINTS, profileID, category));
+                break;
+            case RENAME_POINTS:
+            case DELETE_POINTS:
+                synchronized (points) {
+                    final Point previous = points.get(categoryKey(name));
+                    if (previous != null) {
+                        removePointsCategory(name);
+                        if (rename != null) {
+                            modifyPoints(rename, previous.getCount());
+                        }
+                    }
+                }
+                break;
+            case RENAME_ENTRIES:
+            case DELETE_ENTRIES:
+                final Journal playerJournal = getJournal();
+                for (final Pointer pointer : playerJournal.getPointers()) {
+                    if (pointer.getPointer().equalsIgnoreCase(name)) {
+                        playerJournal.removePointer(name);
+                        if (rename != null) {
+                            playerJournal.addPointer(new Pointer(rename, pointer.getTimestamp()));
+                        }
+                        playerJournal.update();
+                        break;
+                    }
+                }
+                break;
+            default:
+                break;
         }
     }
 
+    private static String categoryKey(final String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Returns a Journal instance or creates it if it does not exist.
      *
@@ -401,7 +516,7 @@ public class PlayerData implements TagData {
      * @return list of itemstacks
      */
     public List<ItemStack> getBackpack() {
-        return (List<ItemStack>) copyItemList(backpack, new ArrayList<>());
+        return (List<ItemStack>) copyItemList(backpackItems(), new ArrayList<>());
     }
 
     /**
@@ -410,14 +525,11 @@ public class PlayerData implements TagData {
      * @param list list of all items in the backpack
      */
     public void setBackpack(final List<ItemStack> list) {
-        this.backpack = (List<ItemStack>) copyItemList(list, new CopyOnWriteArrayList<>());
-
-        // update the database (quite expensive way, should be changed)
-        saver.add(new Record(UpdateType.DELETE_BACKPACK, profileID));
-        for (final ItemStack itemStack : list) {
-            final String instruction = QuestItem.itemToString(itemStack);
-            final String amount = String.valueOf(itemStack.getAmount());
-            saver.add(new Record(UpdateType.ADD_BACKPACK, profileID, instruction, amount));
+        synchronized (serializedBackpack) {
+            serializedBackpack.clear();
+            this.backpack = (List<ItemStack>) copyItemList(list, new CopyOnWriteArrayList<>());
+            // update the database with the changed rows only
+            backpackStore.persist(backpack);
         }
     }
 
@@ -438,8 +550,9 @@ public class PlayerData implements TagData {
      */
     @SuppressWarnings("PMD.CognitiveComplexity")
     public void addItem(final ItemStack item, final int amount) {
+        final List<ItemStack> items = backpackItems();
         int inputAmount = amount;
-        for (final ItemStack itemStack : backpack) {
+        for (final ItemStack itemStack : items) {
             if (item.isSimilar(itemStack)) {
                 // if items are similar they can be joined in a single itemstack
                 if (inputAmount + itemStack.getAmount() <= itemStack.getMaxStackSize()) {
@@ -471,14 +584,11 @@ public class PlayerData implements TagData {
                 newItem.setAmount(inputAmount);
                 inputAmount = 0;
             }
-            backpack.add(newItem);
+            items.add(newItem);
         }
-        // update the database (quite expensive way, should be changed)
-        saver.add(new Record(UpdateType.DELETE_BACKPACK, profileID));
-        for (final ItemStack itemStack : backpack) {
-            final String instruction = QuestItem.itemToString(itemStack);
-            final String newAmount = String.valueOf(itemStack.getAmount());
-            saver.add(new Record(UpdateType.ADD_BACKPACK, profileID, instruction, newAmount));
+        // update the database with the changed rows only
+        synchronized (serializedBackpack) {
+            backpackStore.persist(items);
         }
     }
 
@@ -501,6 +611,7 @@ public class PlayerData implements TagData {
             this.profileLanguage = lang;
         }
         saver.add(new Record(UpdateType.UPDATE_PLAYER_LANGUAGE, lang, profileID));
+        invalidateCaches();
     }
 
     /**
@@ -511,6 +622,16 @@ public class PlayerData implements TagData {
         return conv;
     }
 
+    /**
+     * Sets the conversation the profile should resume when joining and saves it to the database.
+     *
+     * @param conversation the conversation data to save, or "null" to clear it
+     */
+    public void setConversation(final String conversation) {
+        this.conv = conversation == null || "null".equalsIgnoreCase(conversation) ? null : conversation;
+        saver.add(new Record(UpdateType.UPDATE_CONVERSATION, conversation == null ? "null" : conversation, profileID));
+    }
+
     /**
      * Purges all profile's data from the database and from this object.
      */
@@ -524,24 +645,47 @@ public class PlayerData implements TagData {
         points.clear();
         entries.clear();
         getJournal().clear(); // journal can be null, so use a method to get it
-        backpack.clear();
+        clearBackpack();
+        invalidateCaches();
         // clear the database
         saver.add(new Record(UpdateType.DELETE_OBJECTIVES, profileID));
         saver.add(new Record(UpdateType.DELETE_JOURNAL, profileID));
         saver.add(new Record(UpdateType.DELETE_POINTS, profileID));
         saver.add(new Record(UpdateType.DELETE_TAGS, profileID));
         saver.add(new Record(UpdateType.DELETE_BACKPACK, profileID));
-        saver.add(new Record(UpdateType.UPDATE_CONVERSATION, "null", profileID));
+        setConversation("null");
         // update the journal so it's empty
         if (profile.getOnlineProfile().isPresent()) {
             getJournal().update();
         }
     }
 
+    private void clearBackpack() {
+        synchronized (serializedBackpack) {
+            serializedBackpack.clear();
+            backpack = new CopyOnWriteArrayList<>();
+            backpackStore.clear();
+        }
+    }
+
     private Collection<ItemStack> copyItemList(final Collection<ItemStack> source, final Collection<ItemStack> target) {
         for (final ItemStack itemStack : source) {
             target.add(itemStack.clone());
         }
         return target;
     }
+
+    /**
+     * A backpack item as stored in the database.
+     */
+    private static class SerializedItem {
+        private final String instruction;
+
+        private final int amount;
+
+        SerializedItem(final String instruction, final int amount) {
+            this.instruction = instruction;
+            this.amount = amount;
+        }
+    }
 }
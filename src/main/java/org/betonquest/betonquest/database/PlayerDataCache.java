@@ -0,0 +1,227 @@
+package org.betonquest.betonquest.database;
+
+import org.betonquest.betonquest.api.logger.BetonQuestLogger;
+import org.betonquest.betonquest.api.profiles.Profile;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the {@link PlayerData} of recently quit and offline profiles in memory, so they don't have to be loaded from the
+ * database again on every offline lookup. Profiles that come online always load their data from the database, as
+ * other servers that share the database may have changed it.
+ * <p>
+ * The cache is bounded by size and evicts the least recently used entries first. Entries that were not accessed for
+ * longer than the idle time are evicted as well. Every change to a {@link PlayerData} is written through the
+ * {@link Saver} immediately, so evicting an entry never loses data. Before data is loaded on a miss, the records that
+ * are still queued in the saver are waited for, so the loaded data contains them.
+ * <p>
+ * Changes that are written to the database without a {@link PlayerData}, like renaming a tag for everyone, must
+ * {@link #invalidateAll() invalidate} the cache.
+ */
+public class PlayerDataCache {
+    /**
+     * The maximum time a miss waits for the saver before the data is loaded anyway, in milliseconds.
+     */
+    private static final long SAVER_TIMEOUT = 5000;
+
+    /**
+     * Custom {@link BetonQuestLogger} instance for this class.
+     */
+    private final BetonQuestLogger log;
+
+    /**
+     * The saver whose queued records must be written before data is loaded.
+     */
+    private final AsyncSaver saver;
+
+    /**
+     * The cached entries in access order, the least recently used first.
+     */
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The maximum amount of cached entries.
+     */
+    private final int maxSize;
+
+    /**
+     * The time in milliseconds an entry may stay unused before it is evicted.
+     */
+    private final long maxIdleMillis;
+
+    /**
+     * The amount of lookups that were answered from the cache.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * The amount of lookups that had to load the data from the database.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * The amount of entries that were evicted because of size or idle time.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param log           the logger that will be used for logging
+     * @param saver         the saver whose records must be written before data is loaded
+     * @param maxSize       the maximum amount of cached profiles, 0 disables the cache
+     * @param maxIdleMillis the time in milliseconds an unused profile stays cached
+     */
+    public PlayerDataCache(final BetonQuestLogger log, final AsyncSaver saver, final int maxSize, final long maxIdleMillis) {
+        this.log = log;
+        this.saver = saver;
+        this.maxSize = Math.max(0, maxSize);
+        this.maxIdleMillis = maxIdleMillis;
+    }
+
+    /**
+     * Gets the cached data of the profile or loads it from the database and caches it.
+     *
+     * @param profile the {@link Profile} to get the data for
+     * @return the data of the profile
+     */
+    public PlayerData getOrLoad(final Profile profile) {
+        final UUID uuid = profile.getProfileUUID();
+        synchronized (entries) {
+            evictIdle();
+            final Entry entry = entries.get(uuid);
+            if (entry != null) {
+                hits.incrementAndGet();
+                entry.touch();
+                return entry.data;
+            }
+        }
+        misses.incrementAndGet();
+        try {
+            if (!saver.awaitFlushed(SAVER_TIMEOUT)) {
+                log.warn("The database saver is behind, loading the data of " + profile + " before all changes are saved");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final PlayerData loaded = new PlayerData(profile);
+        synchronized (entries) {
+            final Entry concurrent = entries.get(uuid);
+            if (concurrent != null) {
+                return concurrent.data;
+            }
+            insert(uuid, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Caches the data of the profile, for example because the player just quit.
+     *
+     * @param profile the {@link Profile} the data belongs to
+     * @param data    the data to cache
+     */
+    public void put(final Profile profile, final PlayerData data) {
+        synchronized (entries) {
+            evictIdle();
+            insert(profile.getProfileUUID(), data);
+        }
+    }
+
+    /**
+     * Removes the data of the profile from the cache without counting it as lookup.
+     *
+     * @param profile the {@link Profile} to remove the data for
+     */
+    public void remove(final Profile profile) {
+        synchronized (entries) {
+            entries.remove(profile.getProfileUUID());
+        }
+    }
+
+    /**
+     * Removes all entries. This must be called whenever data of offline profiles is changed in the database directly.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return the amount of currently cached profiles
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return the amount of lookups that were answered from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the amount of lookups that had to load the data from the database
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the amount of entries that were evicted because of size or idle time
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private void insert(final UUID uuid, final PlayerData data) {
+        if (maxSize == 0) {
+            return;
+        }
+        entries.put(uuid, new Entry(data));
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void evictIdle() {
+        final long oldest = System.currentTimeMillis() - maxIdleMillis;
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().lastAccess >= oldest) {
+                return;
+            }
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * A cached {@link PlayerData} with its last access time.
+     */
+    private static class Entry {
+        private final PlayerData data;
+
+        private long lastAccess;
+
+        Entry(final PlayerData data) {
+            this.data = data;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package org.betonquest.betonquest.database;
+
+import org.betonquest.betonquest.database.Saver.Record;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects {@link Record}s drained from a {@link Saver} queue, drops writes that are made redundant by later ones and
+ * groups the remaining records into runs of the same {@link UpdateType}, so they can be sent as JDBC batches.
+ * <p>
+ * Only records that touch a single, well known row are coalesced. Every other record acts as a barrier: records before
+ * and after it are never merged or reordered across it. This class is not thread safe.
+ */
+public class RecordBatch {
+    /**
+     * The coalescing rules for all update types that address a single row.
+     */
+    private static final Map<UpdateType, Rule> RULES = new EnumMap<>(UpdateType.class);
+
+    static {
+        RULES.put(UpdateType.REMOVE_OBJECTIVES, new Rule("objectives", 2, Phase.REMOVE));
+        RULES.put(UpdateType.ADD_OBJECTIVES, new Rule("objectives", 2, Phase.ADD));
+        RULES.put(UpdateType.SAVE_OBJECTIVES, new Rule("objectives", 2, Phase.UPSERT));
+        RULES.put(UpdateType.REMOVE_TAGS, new Rule("tags", 2, Phase.REMOVE));
+        RULES.put(UpdateType.ADD_TAGS, new Rule("tags", 2, Phase.ADD));
+        RULES.put(UpdateType.REMOVE_POINTS, new Rule("points", 2, Phase.REMOVE));
+        RULES.put(UpdateType.ADD_POINTS, new Rule("points", 2, Phase.ADD));
+        RULES.put(UpdateType.REMOVE_GLOBAL_TAGS, new Rule("global_tags", 1, Phase.REMOVE));
+        RULES.put(UpdateType.ADD_GLOBAL_TAGS, new Rule("global_tags", 1, Phase.ADD));
+        RULES.put(UpdateType.REMOVE_GLOBAL_POINTS, new Rule("global_points", 1, Phase.REMOVE));
+        RULES.put(UpdateType.ADD_GLOBAL_POINTS, new Rule("global_points", 1, Phase.ADD));
+        RULES.put(UpdateType.UPDATE_CONVERSATION, new Rule("player.conversation", 1, Phase.OVERWRITE));
+        RULES.put(UpdateType.UPDATE_PLAYER_LANGUAGE, new Rule("player.language", 1, Phase.OVERWRITE));
+    }
+
+    /**
+     * The records of the current segment, grouped by the row they touch.
+     */
+    private final Map<List<String>, List<Record>> segment = new LinkedHashMap<>();
+
+    /**
+     * The finished groups of records, in execution order.
+     */
+    private final List<List<Record>> groups = new ArrayList<>();
+
+    /**
+     * The amount of records that were added to this batch.
+     */
+    private int added;
+
+    /**
+     * The amount of records that were dropped because a later record made them redundant.
+     */
+    private int dropped;
+
+    /**
+     * Creates a new empty batch.
+     */
+    public RecordBatch() {
+        // Empty
+    }
+
+    /**
+     * Adds a record to this batch.
+     *
+     * @param rec the record to add
+     */
+    public void add(final Record rec) {
+        added++;
+        final Rule rule = RULES.get(rec.getType());
+        if (rule == null || rec.getArgs() == null || rec.getArgs().length < rule.keyLength) {
+            closeSegment();
+            appendToGroups(rec);
+            return;
+        }
+        final List<String> key = rule.key(rec);
+        final List<Record> chain = segment.computeIfAbsent(key, k -> new ArrayList<>());
+        if (rule.phase == Phase.ADD) {
+            chain.add(rec);
+            return;
+        }
+        dropped += chain.size();
+        chain.clear();
+        chain.add(rec);
+    }
+
+    /**
+     * Returns the records of this batch grouped into runs of the same {@link UpdateType}. Executing the groups in
+     * order yields the same database state as executing all added records one by one.
+     *
+     * @return the groups in execution order
+     */
+    public List<List<Record>> getStatementGroups() {
+        closeSegment();
+        return groups;
+    }
+
+    /**
+     * Returns whether no record was added to this batch.
+     *
+     * @return true if the batch is empty
+     */
+    public boolean isEmpty() {
+        return added == 0;
+    }
+
+    /**
+     * Returns the amount of records that were added to this batch.
+     *
+     * @return the amount of added records
+     */
+    public int getAddedCount() {
+        return added;
+    }
+
+    /**
+     * Returns the amount of records that were dropped because a later record in this batch made them redundant.
+     *
+     * @return the amount of dropped records
+     */
+    public int getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Moves the records of the current segment to the groups. Records that touch different rows commute, so all
+     * removals are executed first and all additions and overwrites afterwards, which allows larger batches.
+     */
+    private void closeSegment() {
+        if (segment.isEmpty()) {
+            return;
+        }
+        final Map<UpdateType, List<Record>> removals = new LinkedHashMap<>();
+        final Map<UpdateType, List<Record>> additions = new LinkedHashMap<>();
+        for (final List<Record> chain : segment.values()) {
+            for (final Record rec : chain) {
+                final Map<UpdateType, List<Record>> target = RULES.get(rec.getType()).phase == Phase.REMOVE ? removals : additions;
+                target.computeIfAbsent(rec.getType(), type -> new ArrayList<>()).add(rec);
+            }
+        }
+        segment.clear();
+        removals.values().forEach(records -> records.forEach(this::appendToGroups));
+        additions.values().forEach(records -> records.forEach(this::appendToGroups));
+    }
+
+    private void appendToGroups(final Record rec) {
+        if (!groups.isEmpty()) {
+            final List<Record> last = groups.get(groups.size() - 1);
+            if (last.get(0).getType() == rec.getType()) {
+                last.add(rec);
+                return;
+            }
+        }
+        final List<Record> group = new ArrayList<>();
+        group.add(rec);
+        groups.add(group);
+    }
+
+    /**
+     * The phase in which a record is executed inside a segment.
+     */
+    private enum Phase {
+        /**
+         * Deletes the row. Makes all previous records for the same row redundant.
+         */
+        REMOVE,
+        /**
+         * Inserts the row.
+         */
+        ADD,
+        /**
+         * Overwrites a value of the row. Makes all previous records for the same row redundant.
+         */
+        OVERWRITE,
+        /**
+         * Inserts the row or overwrites its values if it exists. Makes all previous records for the same row redundant.
+         */
+        UPSERT
+    }
+
+    /**
+     * Describes how the row that is touched by a record is identified.
+     */
+    private static class Rule {
+        private final String table;
+
+        private final int keyLength;
+
+        private final Phase phase;
+
+        /**
+         * @param table     the table (and optionally column) that is touched
+         * @param keyLength the number of arguments that identify the row
+         * @param phase     the phase the record is executed in
+         */
+        Rule(final String table, final int keyLength, final Phase phase) {
+            this.table = table;
+            this.keyLength = keyLength;
+            this.phase = phase;
+        }
+
+        /**
+         * Creates the key of the row the given record touches.
+         *
+         * @param rec the record
+         * @return the key of the row
+         */
+        List<String> key(final Record rec) {
+            final String[] args = rec.getArgs();
+            final String[] key = new String[keyLength + 1];
+            key[0] = table;
+            if (phase == Phase.OVERWRITE) {
+                System.arraycopy(args, args.length - keyLength, key, 1, keyLength);
+            } else {
+                System.arraycopy(args, 0, key, 1, keyLength);
+            }
+            return Arrays.asList(key);
+        }
+    }
+}
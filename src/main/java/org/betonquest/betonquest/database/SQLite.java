@@ -1,5 +1,6 @@
 package org.betonquest.betonquest.database;
 
+import com.zaxxer.hikari.HikariConfig;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
@@ -12,7 +13,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -42,8 +45,21 @@ public class SQLite extends Database {
     }
 
     @Override
-    @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
     public Connection openConnection() {
+        createDatabaseFile();
+        Connection connection = null;
+        try {
+            Class.forName("org.sqlite.JDBC");
+            connection = DriverManager
+                .getConnection("jdbc:sqlite:" + plugin.getDataFolder().toPath() + "/" + dbLocation);
+        } catch (ClassNotFoundException | SQLException e) {
+            log.error("There was an exception with SQL", e);
+        }
+        return connection;
+    }
+
+    @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+    private void createDatabaseFile() {
         if (!plugin.getDataFolder().exists()) {
             plugin.getDataFolder().mkdirs();
         }
@@ -55,15 +71,21 @@ public class SQLite extends Database {
                 log.error("Unable to create database!", e);
             }
         }
-        Connection connection = null;
-        try {
-            Class.forName("org.sqlite.JDBC");
-            connection = DriverManager
-                .getConnection("jdbc:sqlite:" + plugin.getDataFolder().toPath() + "/" + dbLocation);
-        } catch (ClassNotFoundException | SQLException e) {
-            log.error("There was an exception with SQL", e);
-        }
-        return connection;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The SQLite driver has no statement cache, so only the pool size and leak detection apply. The write-ahead log is
+     * enabled, so pooled connections can read while another one writes.
+     */
+    @Override
+    protected void configurePool(final HikariConfig poolConfig) {
+        createDatabaseFile();
+        poolConfig.setDriverClassName("org.sqlite.JDBC");
+        poolConfig.setJdbcUrl("jdbc:sqlite:" + plugin.getDataFolder().toPath() + "/" + dbLocation);
+        poolConfig.addDataSourceProperty("journal_mode", "WAL");
+        poolConfig.addDataSourceProperty("busy_timeout", "5000");
     }
 
     @Override
@@ -72,9 +94,28 @@ public class SQLite extends Database {
         migrations.put(new MigrationKey("betonquest", 1), this::migration1);
         migrations.put(new MigrationKey("betonquest", 2), this::migration2);
         migrations.put(new MigrationKey("betonquest", 3), this::migration3);
+        migrations.put(new MigrationKey("betonquest", 4), this::migration4);
         return migrations;
     }
 
+    @Override
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    protected List<String> findFullScans(final Connection connection, final String sql) throws SQLException {
+        final List<String> fullScans = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            bindPlaceholders(statement, sql);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    final String detail = result.getString("detail");
+                    if (detail.startsWith("SCAN") && !detail.contains("INDEX")) {
+                        fullScans.add(detail);
+                    }
+                }
+            }
+        }
+        return fullScans;
+    }
+
     @Override
     protected Set<MigrationKey> queryExecutedMigrations(final Connection connection) throws SQLException {
         final Set<MigrationKey> executedMigrations = new HashSet<>();
@@ -276,4 +317,24 @@ public class SQLite extends Database {
                                     + "RENAME TO " + prefix + "player_profile");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Executes the fourth migration. It adds indexes for all columns that are used to look up rows.
+     *
+     * @param connection the connection to the database
+     * @throws SQLException if something goes wrong, while executing the query's
+     */
+    @SuppressFBWarnings("SQL_NONCONSTANT_STRING_PASSED_TO_EXECUTE")
+    private void migration4(final Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS " + prefix + "objectives_objective_idx ON " + prefix + "objectives (objective)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS " + prefix + "tags_tag_idx ON " + prefix + "tags (tag)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS " + prefix + "points_category_idx ON " + prefix + "points (category, count, profileID)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS " + prefix + "journal_profile_idx ON " + prefix + "journal (profileID, pointer, date)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS " + prefix + "journal_pointer_idx ON " + prefix + "journal (pointer)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS " + prefix + "backpack_profile_idx ON " + prefix + "backpack (profileID)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS " + prefix + "player_active_profile_idx ON " + prefix + "player (active_profile, playerID)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS " + prefix + "player_profile_profile_idx ON " + prefix + "player_profile (profileID)");
+        }
+    }
+}
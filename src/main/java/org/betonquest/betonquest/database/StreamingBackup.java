@@ -0,0 +1,476 @@
+package org.betonquest.betonquest.database;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.betonquest.betonquest.api.logger.BetonQuestLogger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Dumps the database into a gzip compressed, line-oriented backup file and restores it from there.
+ * <p>
+ * Every table is written straight from its {@link ResultSet} into the file, so the memory usage does not depend on
+ * the size of the database. If the database is pooled, the tables are dumped in parallel on separate connections.
+ * The file consists of the following lines, all fields are separated by tabs:
+ * <ul>
+ *     <li>{@code BetonQuest-Backup <version>} as the first line</li>
+ *     <li>{@code T <table> <column>...} starts a table</li>
+ *     <li>{@code R <value>...} is a row of the current table</li>
+ *     <li>{@code E <table> <row count>} ends the current table</li>
+ * </ul>
+ * Backslashes, tabs and line breaks in values are escaped with a backslash and {@code \N} stands for null.
+ */
+@SuppressWarnings("PMD.GodClass")
+public class StreamingBackup {
+    /**
+     * The first line of every backup file.
+     */
+    private static final String HEADER = "BetonQuest-Backup\t1";
+
+    /**
+     * The size of the buffers used for compression.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Custom {@link BetonQuestLogger} instance for this class.
+     */
+    private final BetonQuestLogger log;
+
+    /**
+     * The database to back up and restore.
+     */
+    private final Database database;
+
+    /**
+     * Table prefix.
+     */
+    private final String prefix;
+
+    /**
+     * The amount of rows that are inserted in one batch and transaction while restoring.
+     */
+    private final int batchSize;
+
+    /**
+     * Creates a new backup engine.
+     *
+     * @param log       the logger that will be used for logging
+     * @param database  the database to back up and restore
+     * @param prefix    the table prefix
+     * @param batchSize the amount of rows that are inserted at once while restoring
+     */
+    public StreamingBackup(final BetonQuestLogger log, final Database database, final String prefix, final int batchSize) {
+        this.log = log;
+        this.database = database;
+        this.prefix = prefix;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Dumps all tables into the given file. Every table is first written into its own compressed part file next to
+     * the target, and the parts are joined afterwards. Joined gzip files are a valid gzip file themselves.
+     *
+     * @param target the file to write the backup to, it will be replaced if it exists
+     * @return true if the backup was successful, false if there was an error
+     */
+    @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+    public boolean dump(final File target) {
+        final Table[] tables = Table.values();
+        final int threads = database.isPooled() ? Math.max(1, Math.min(database.getPoolSize() - 1, tables.length)) : 1;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<File> parts = new ArrayList<>();
+        final List<Future<Long>> results = new ArrayList<>();
+        for (final Table table : tables) {
+            final File part = new File(target.getAbsoluteFile().getParentFile(), target.getName() + "." + table.fileName + ".part");
+            parts.add(part);
+            results.add(executor.submit(() -> dumpTable(table, part)));
+        }
+        executor.shutdown();
+        boolean done = true;
+        try {
+            for (int i = 0; i < tables.length; i++) {
+                try {
+                    log.debug("Saved " + results.get(i).get() + " rows of " + tables[i].fileName);
+                } catch (final ExecutionException e) {
+                    log.warn("Could not back up the table " + tables[i].fileName + ": " + e.getCause().getMessage(), e.getCause());
+                    done = false;
+                }
+            }
+            if (done) {
+                joinParts(target, parts);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("The database backup was interrupted!", e);
+            done = false;
+        } catch (final IOException e) {
+            log.warn("Could not write the database backup: " + e.getMessage(), e);
+            done = false;
+        } finally {
+            executor.shutdownNow();
+            parts.forEach(File::delete);
+        }
+        if (!done) {
+            target.delete();
+        }
+        return done;
+    }
+
+    /**
+     * Loads the given backup file into the database. The tables must exist and should be empty.
+     * The migration table is not restored, as the tables were already created by the current migrations.
+     * All tables are restored in one transaction, so nothing is loaded if there is an error.
+     *
+     * @param source the backup file
+     * @return true if the backup was loaded completely, false if there was an error
+     */
+    public boolean restore(final File source) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(source.toPath()), BUFFER_SIZE), StandardCharsets.UTF_8));
+             Connection connection = database.openDedicatedConnection()) {
+            if (!HEADER.equals(reader.readLine())) {
+                throw new IOException("The file is not a database backup or has an unsupported version");
+            }
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                restoreTables(reader, connection);
+                connection.commit();
+            } catch (final SQLException | IOException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return true;
+        } catch (final IOException | SQLException | IllegalArgumentException e) {
+            log.warn("There was an error during loading of the database backup: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    @SuppressWarnings("PMD.CloseResource")
+    private void restoreTables(final BufferedReader reader, final Connection connection) throws IOException, SQLException {
+        TableRestore current = null;
+        String line = reader.readLine();
+        while (line != null) {
+            final List<String> fields = split(line);
+            switch (String.valueOf(fields.get(0))) {
+                case "T":
+                    if (current != null) {
+                        throw new IOException("The table " + current.table.fileName + " is not complete");
+                    }
+                    current = new TableRestore(connection, fields);
+                    break;
+                case "R":
+                    if (current == null) {
+                        throw new IOException("Found a row outside of a table");
+                    }
+                    current.add(fields);
+                    break;
+                case "E":
+                    if (current == null || fields.size() < 3) {
+                        throw new IOException("Found an invalid end of a table");
+                    }
+                    current.finish(Long.parseLong(fields.get(2)));
+                    current = null;
+                    break;
+                default:
+                    throw new IOException("Unknown line type '" + fields.get(0) + "'");
+            }
+            line = reader.readLine();
+        }
+        if (current != null) {
+            throw new IOException("The backup file ends inside of the table " + current.table.fileName);
+        }
+    }
+
+    @SuppressWarnings("PMD.CloseResource")
+    private long dumpTable(final Table table, final File part) throws SQLException, IOException {
+        try (Connection connection = database.openDedicatedConnection();
+             PreparedStatement statement = database.prepareStreamingQuery(connection, table.query.createSql(prefix));
+             ResultSet result = statement.executeQuery();
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     new GZIPOutputStream(Files.newOutputStream(part.toPath()), BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            final ResultSetMetaData meta = result.getMetaData();
+            final int columns = meta.getColumnCount();
+            writer.write("T\t");
+            writer.write(table.fileName);
+            for (int i = 1; i <= columns; i++) {
+                writer.write('\t');
+                writer.write(escape(meta.getColumnName(i)));
+            }
+            writer.write('\n');
+            long rows = 0;
+            while (result.next()) {
+                writer.write('R');
+                for (int i = 1; i <= columns; i++) {
+                    writer.write('\t');
+                    writer.write(escape(result.getString(i)));
+                }
+                writer.write('\n');
+                rows++;
+            }
+            writer.write("E\t" + table.fileName + "\t" + rows + "\n");
+            return rows;
+        }
+    }
+
+    @SuppressWarnings("PMD.CloseResource")
+    private void joinParts(final File target, final List<File> parts) throws IOException {
+        try (OutputStream output = Files.newOutputStream(target.toPath())) {
+            final GZIPOutputStream header = new GZIPOutputStream(output);
+            header.write((HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+            header.finish();
+            for (final File part : parts) {
+                Files.copy(part.toPath(), output);
+            }
+        }
+    }
+
+    private static String escape(final String value) {
+        if (value == null) {
+            return "\\N";
+        }
+        final StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            switch (character) {
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                default:
+                    escaped.append(character);
+            }
+        }
+        return escaped.toString();
+    }
+
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private static List<String> split(final String line) throws IOException {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean isNull = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char character = line.charAt(i);
+            if (character == '\t') {
+                fields.add(isNull ? null : field.toString());
+                field.setLength(0);
+                isNull = false;
+            } else if (character == '\\') {
+                if (++i == line.length()) {
+                    throw new IOException("Incomplete escape sequence in line '" + line + "'");
+                }
+                switch (line.charAt(i)) {
+                    case 't':
+                        field.append('\t');
+                        break;
+                    case 'n':
+                        field.append('\n');
+                        break;
+                    case 'r':
+                        field.append('\r');
+                        break;
+                    case 'N':
+                        isNull = true;
+                        break;
+                    default:
+                        field.append(line.charAt(i));
+                }
+            } else {
+                field.append(character);
+            }
+        }
+        fields.add(isNull ? null : field.toString());
+        return fields;
+    }
+
+    /**
+     * The tables of a backup, in the order they are restored in.
+     */
+    private enum Table {
+        PROFILE("profile", QueryType.LOAD_ALL_PROFILE, UpdateType.INSERT_PROFILE,
+                "profileID"),
+        PLAYER("player", QueryType.LOAD_ALL_PLAYER, UpdateType.INSERT_PLAYER,
+                "playerID", "active_profile", "language", "conversation"),
+        PLAYER_PROFILE("player_profile", QueryType.LOAD_ALL_PLAYER_PROFILE, UpdateType.INSERT_PLAYER_PROFILE,
+                "playerID", "profileID", "name"),
+        OBJECTIVES("objectives", QueryType.LOAD_ALL_OBJECTIVES, UpdateType.INSERT_OBJECTIVE,
+                "profileID", "objective", "instructions"),
+        TAGS("tags", QueryType.LOAD_ALL_TAGS, UpdateType.INSERT_TAG,
+                "profileID", "tag"),
+        POINTS("points", QueryType.LOAD_ALL_POINTS, UpdateType.INSERT_POINT,
+                "profileID", "category", "count"),
+        JOURNALS("journals", QueryType.LOAD_ALL_JOURNALS, UpdateType.INSERT_JOURNAL,
+                "id", "profileID", "pointer", "date"),
+        BACKPACK("backpack", QueryType.LOAD_ALL_BACKPACK, UpdateType.INSERT_BACKPACK,
+                "id", "profileID", "instruction", "amount"),
+        GLOBAL_TAGS("global_tags", QueryType.LOAD_ALL_GLOBAL_TAGS, UpdateType.INSERT_GLOBAL_TAG,
+                "tag"),
+        GLOBAL_POINTS("global_points", QueryType.LOAD_ALL_GLOBAL_POINTS, UpdateType.INSERT_GLOBAL_POINT,
+                "category", "count"),
+        MIGRATION("migration", QueryType.LOAD_ALL_MIGRATION, null);
+
+        /**
+         * The name of the table in the backup file.
+         */
+        private final String fileName;
+
+        /**
+         * The query that loads the whole table.
+         */
+        private final QueryType query;
+
+        /**
+         * The update that inserts a row, null if the table is not restored.
+         */
+        private final UpdateType insert;
+
+        /**
+         * The columns in the order of the insert parameters.
+         */
+        private final String[] columns;
+
+        Table(final String fileName, final QueryType query, final UpdateType insert, final String... columns) {
+            this.fileName = fileName;
+            this.query = query;
+            this.insert = insert;
+            this.columns = columns;
+        }
+
+        /**
+         * Gets the table with the given name in the backup file.
+         *
+         * @param fileName the name of the table
+         * @return the table or null if there is no such table
+         */
+        private static Table byFileName(final String fileName) {
+            for (final Table table : values()) {
+                if (table.fileName.equals(fileName)) {
+                    return table;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Inserts the rows of one table in batches.
+     */
+    private class TableRestore {
+        /**
+         * The table that is restored.
+         */
+        private final Table table;
+
+        /**
+         * The insert statement, null if the rows of the table are skipped.
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * The index of the field in a row line for every insert parameter, -1 if the backup has no such column.
+         */
+        private final int[] fieldIndexes;
+
+        /**
+         * The amount of rows read for this table.
+         */
+        private long rows;
+
+        /**
+         * The amount of rows added to the current batch.
+         */
+        private int pending;
+
+        TableRestore(final Connection connection, final List<String> header) throws IOException, SQLException {
+            if (header.size() < 2) {
+                throw new IOException("Found a table without a name");
+            }
+            this.table = Table.byFileName(header.get(1));
+            if (table == null) {
+                throw new IOException("Unknown table '" + header.get(1) + "'");
+            }
+            this.fieldIndexes = new int[table.columns.length];
+            for (int i = 0; i < table.columns.length; i++) {
+                fieldIndexes[i] = -1;
+                for (int j = 2; j < header.size(); j++) {
+                    if (table.columns[i].equalsIgnoreCase(header.get(j))) {
+                        fieldIndexes[i] = j - 1;
+                        break;
+                    }
+                }
+            }
+            this.statement = table.insert == null ? null : connection.prepareStatement(table.insert.createSql(prefix));
+        }
+
+        void add(final List<String> fields) throws SQLException {
+            rows++;
+            if (statement == null) {
+                return;
+            }
+            for (int i = 0; i < fieldIndexes.length; i++) {
+                final int index = fieldIndexes[i];
+                statement.setString(i + 1, index < 0 || index >= fields.size() ? null : fields.get(index));
+            }
+            statement.addBatch();
+            pending++;
+            if (pending >= batchSize) {
+                flush();
+            }
+        }
+
+        void finish(final long expectedRows) throws SQLException, IOException {
+            if (statement != null) {
+                try {
+                    flush();
+                } finally {
+                    statement.close();
+                }
+            }
+            if (expectedRows != rows) {
+                throw new IOException("The table " + table.fileName + " should have " + expectedRows
+                        + " rows, but has " + rows);
+            }
+            log.debug("Loaded " + rows + " rows of " + table.fileName);
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+    }
+}
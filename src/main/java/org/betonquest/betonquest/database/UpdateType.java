@@ -1,5 +1,7 @@
 package org.betonquest.betonquest.database;
 
+import org.betonquest.betonquest.BetonQuest;
+
 import java.util.function.Function;
 
 /**
@@ -13,6 +15,14 @@ public enum UpdateType {
      * instruction.
      */
     ADD_OBJECTIVES(prefix -> "INSERT INTO " + prefix + "objectives (profileID, objective, instructions) VALUES (?, ?, ?);"),
+    /**
+     * Add the single objective to the database or update its instruction if it is already there. ProfileID,
+     * objectiveID, instruction.
+     */
+    SAVE_OBJECTIVES(prefix -> "INSERT INTO " + prefix + "objectives (profileID, objective, instructions) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE instructions = VALUES(instructions);",
+            prefix -> "INSERT INTO " + prefix + "objectives (profileID, objective, instructions) VALUES (?, ?, ?) "
+                    + "ON CONFLICT(profileID, objective) DO UPDATE SET instructions = excluded.instructions;"),
     /**
      * Add the single tag to the database. ProfileID, tag.
      */
@@ -76,6 +86,11 @@ public enum UpdateType {
      * date.
      */
     REMOVE_JOURNAL(prefix -> "DELETE FROM " + prefix + "journal WHERE profileID = ? AND pointer = ? AND date = ?;"),
+    /**
+     * Removes all equal itemstacks from the database. ProfileID, instruction,
+     * amount.
+     */
+    REMOVE_BACKPACK_ITEMS(prefix -> "DELETE FROM " + prefix + "backpack WHERE profileID = ? AND instruction = ? AND amount = ?;"),
     /**
      * Removes single profile from the database. ProfileID.
      */
@@ -142,21 +157,33 @@ public enum UpdateType {
     RENAME_ALL_ENTRIES(prefix -> "UPDATE " + prefix + "journal SET pointer = ? WHERE pointer = ?;");
 
     /**
-     * Function to create the SQL code from a prefix.
+     * Function to create the SQL code for MySQL from a prefix.
      */
-    private final Function<String, String> statementCreator;
+    private final Function<String, String> mySqlStatementCreator;
+
+    /**
+     * Function to create the SQL code for SQLite from a prefix.
+     */
+    private final Function<String, String> sqLiteStatementCreator;
 
     UpdateType(final Function<String, String> sqlTemplate) {
-        this.statementCreator = sqlTemplate;
+        this(sqlTemplate, sqlTemplate);
+    }
+
+    UpdateType(final Function<String, String> mySqlTemplate, final Function<String, String> sqLiteTemplate) {
+        this.mySqlStatementCreator = mySqlTemplate;
+        this.sqLiteStatementCreator = sqLiteTemplate;
     }
 
     /**
-     * Create the SQL code for the given table prefix.
+     * Create the SQL code for the given table prefix in the dialect of the used database.
      *
      * @param tablePrefix table prefix to use
      * @return SQL-code for the update
      */
     public String createSql(final String tablePrefix) {
+        final Function<String, String> statementCreator = BetonQuest.getInstance().isMySQLUsed()
+                ? mySqlStatementCreator : sqLiteStatementCreator;
         return statementCreator.apply(tablePrefix);
     }
 }
@@ -74,12 +74,13 @@ public class ObjectiveEvent extends QuestEvent {
                 if ("delete".equals(action) || "remove".equals(action)) {
                     PlayerConverter.getOnlineProfiles().forEach(onlineProfile -> cancelObjectiveForOnlinePlayer(onlineProfile, objective));
                     betonQuest.getSaver().add(new Saver.Record(UpdateType.REMOVE_ALL_OBJECTIVES, objective.toString()));
+                    betonQuest.getPlayerDataCache().invalidateAll();
                 } else {
                     log.warn(instruction.getPackage(), "You tried to call an objective add / finish event in a static context! Only objective delete works here.");
                 }
             } else if (profile.getOnlineProfile().isEmpty()) {
                 Bukkit.getScheduler().runTaskAsynchronously(betonQuest, () -> {
-                    final PlayerData playerData = new PlayerData(profile);
+                    final PlayerData playerData = betonQuest.getOfflinePlayerData(profile);
                     switch (action.toLowerCase(Locale.ROOT)) {
                         case "start":
                         case "add": playerData.addNewRawObjective(objective); break;
@@ -576,6 +576,13 @@ public class QuestItem {
         return selector.getRandomMaterial();
     }
 
+    /**
+     * @return all materials this item can have
+     */
+    public List<Material> getMaterials() {
+        return selector.getMaterials();
+    }
+
     /**
      * @return the durability value
      */
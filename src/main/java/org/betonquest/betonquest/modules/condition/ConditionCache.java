@@ -0,0 +1,155 @@
+package org.betonquest.betonquest.modules.condition;
+
+import org.betonquest.betonquest.api.Condition;
+import org.betonquest.betonquest.api.PlayerJournalAddEvent;
+import org.betonquest.betonquest.api.PlayerJournalDeleteEvent;
+import org.betonquest.betonquest.api.PlayerObjectiveChangeEvent;
+import org.betonquest.betonquest.api.PlayerTagAddEvent;
+import org.betonquest.betonquest.api.PlayerTagRemoveEvent;
+import org.betonquest.betonquest.api.profiles.Profile;
+import org.betonquest.betonquest.exceptions.QuestRuntimeException;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the results of {@link Condition#isCacheable() cacheable} conditions for a few ticks, so a condition that
+ * is checked for the same profile many times in a short time, like by holograms, hiders and menus, is only checked
+ * once.
+ * <p>
+ * All results are forgotten after the configured amount of ticks. The results of a profile are also forgotten when
+ * its tags, points, journal or objectives change, and all results when global tags or points change.
+ * The raw results are cached, so a condition and its inverted form share the same entry.
+ */
+@SuppressWarnings("PMD.CommentRequired")
+public class ConditionCache implements Listener {
+    /**
+     * The cached results by profile and condition.
+     */
+    private final Map<Profile, Map<Condition, Boolean>> results = new ConcurrentHashMap<>();
+
+    /**
+     * Whether results are cached at all.
+     */
+    private final boolean enabled;
+
+    /**
+     * The amount of checks that were answered from the cache.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The amount of checks of cacheable conditions that had to check the condition.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param plugin the plugin that schedules the expiry
+     * @param ttl    the amount of ticks results are kept, 0 to disable the cache
+     */
+    public ConditionCache(final Plugin plugin, final long ttl) {
+        this.enabled = ttl > 0;
+        if (enabled) {
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+            Bukkit.getScheduler().runTaskTimer(plugin, this::invalidateAll, ttl, ttl);
+        }
+    }
+
+    /**
+     * Checks the condition for the profile, or returns the cached result if there is one.
+     * The result is not inverted.
+     *
+     * @param profile   the {@link Profile} to check the condition for, may be null for static conditions
+     * @param condition the condition to check
+     * @return the result of the condition
+     * @throws QuestRuntimeException if the condition could not be checked
+     */
+    public boolean check(final Profile profile, final Condition condition) throws QuestRuntimeException {
+        if (!enabled || profile == null || !condition.isCacheable()) {
+            return condition.handle(profile);
+        }
+        // if the results are invalidated while checking, the result is put into the discarded map
+        final Map<Condition, Boolean> profileResults = results.computeIfAbsent(profile, key -> new ConcurrentHashMap<>());
+        final Boolean cached = profileResults.get(condition);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        final boolean result = condition.handle(profile);
+        profileResults.put(condition, result);
+        return result;
+    }
+
+    /**
+     * Forgets all results of the profile.
+     *
+     * @param profile the {@link Profile} whose data changed
+     */
+    public void invalidate(final Profile profile) {
+        results.remove(profile);
+    }
+
+    /**
+     * Forgets all results.
+     */
+    public void invalidateAll() {
+        results.clear();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onTagAdd(final PlayerTagAddEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onTagRemove(final PlayerTagRemoveEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJournalAdd(final PlayerJournalAddEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJournalDelete(final PlayerJournalDeleteEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onObjectiveChange(final PlayerObjectiveChangeEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    /**
+     * @return the amount of checks that were answered from the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the amount of checks of cacheable conditions that were not answered from the cache
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the share of checks of cacheable conditions that were answered from the cache, between 0 and 1
+     */
+    public double getHitRatio() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,326 @@
+package org.betonquest.betonquest.modules.condition;
+
+import org.betonquest.betonquest.BetonQuest;
+import org.betonquest.betonquest.api.Condition;
+import org.betonquest.betonquest.api.profiles.Profile;
+import org.betonquest.betonquest.conditions.AlternativeCondition;
+import org.betonquest.betonquest.conditions.ConjunctionCondition;
+import org.betonquest.betonquest.id.ConditionID;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles lists of conditions into expressions that check the cheapest conditions first.
+ * <p>
+ * The {@code and} and {@code or} conditions of a list are flattened into the expression, so their conditions are
+ * ordered together with all others. Every condition is only checked once per evaluation, even if it appears several
+ * times. How long each condition takes is measured, and the conditions are ordered by that from time to time.
+ * Before a condition was measured, cacheable conditions like tags and points count as cheap.
+ * <p>
+ * The expressions must only be evaluated on the primary server thread, for online profiles. Other profiles must use
+ * the conditions as they are, as the static and persistent flags of {@code and} and {@code or} conditions are lost
+ * when they are flattened.
+ */
+public class ConditionCompiler {
+    /**
+     * The amount of evaluations after which an expression orders its conditions again.
+     */
+    private static final int REORDER_INTERVAL = 128;
+
+    /**
+     * The assumed time a condition that is not cacheable takes before it was measured, in nanoseconds.
+     */
+    private static final long DEFAULT_COST = 10_000;
+
+    /**
+     * The compiled expressions by their condition lists.
+     */
+    private final Map<Key, Expression> expressions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new empty compiler.
+     */
+    public ConditionCompiler() {
+        // Empty
+    }
+
+    /**
+     * Returns the compiled expression for the conditions, which is met if all conditions are met.
+     *
+     * @param conditionIDs the conditions
+     * @return the compiled expression
+     */
+    public Expression compile(final ConditionID... conditionIDs) {
+        final Key key = new Key(conditionIDs);
+        final Expression cached = expressions.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final Expression expression = new Compilation().compile(conditionIDs);
+        expressions.put(new Key(conditionIDs.clone()), expression);
+        return expression;
+    }
+
+    /**
+     * Forgets all compiled expressions, for example after the conditions were reloaded.
+     */
+    public void clear() {
+        expressions.clear();
+    }
+
+    /**
+     * A compiled list of conditions.
+     */
+    public static final class Expression {
+        private final Node root;
+
+        private final int leafCount;
+
+        private int evaluations;
+
+        private Expression(final Node root, final int leafCount) {
+            this.root = root;
+            this.leafCount = leafCount;
+        }
+
+        /**
+         * Checks if the conditions are met.
+         *
+         * @param profile the online {@link Profile} to check the conditions for
+         * @return true if all conditions are met
+         */
+        public boolean evaluate(final Profile profile) {
+            if (++evaluations % REORDER_INTERVAL == 0) {
+                root.reorder();
+            }
+            return root.evaluate(profile, new byte[leafCount]);
+        }
+    }
+
+    /**
+     * A node of an expression.
+     */
+    private abstract static class Node {
+        /**
+         * Checks the node.
+         *
+         * @param profile the profile to check for
+         * @param results the results of the leaves of this evaluation, 0 if unknown, 1 if met and 2 if not met
+         * @return true if the node is met
+         */
+        abstract boolean evaluate(Profile profile, byte[] results);
+
+        /**
+         * @return the estimated time this node takes, in nanoseconds
+         */
+        abstract long cost();
+
+        /**
+         * Orders the children of this node by their cost.
+         */
+        abstract void reorder();
+    }
+
+    /**
+     * A single condition.
+     */
+    private static final class Leaf extends Node {
+        private final ConditionID conditionID;
+
+        private final int index;
+
+        private volatile long cost;
+
+        private boolean measured;
+
+        private Leaf(final ConditionID conditionID, final int index, final long cost) {
+            super();
+            this.conditionID = conditionID;
+            this.index = index;
+            this.cost = cost;
+        }
+
+        @Override
+        boolean evaluate(final Profile profile, final byte[] results) {
+            if (results[index] != 0) {
+                return results[index] == 1;
+            }
+            final long start = System.nanoTime();
+            final boolean met = BetonQuest.condition(profile, conditionID);
+            final long duration = System.nanoTime() - start;
+            cost = measured ? (cost * 7 + duration) / 8 : duration;
+            measured = true;
+            results[index] = met ? (byte) 1 : (byte) 2;
+            return met;
+        }
+
+        @Override
+        long cost() {
+            return cost;
+        }
+
+        @Override
+        void reorder() {
+            // Nothing to order
+        }
+    }
+
+    /**
+     * A group of nodes that is met if all of them, or if any of them is met.
+     */
+    private static final class Group extends Node {
+        private final boolean any;
+
+        private volatile Node[] children;
+
+        private Group(final boolean any, final List<Node> children) {
+            super();
+            this.any = any;
+            this.children = children.toArray(new Node[0]);
+            reorder();
+        }
+
+        @Override
+        boolean evaluate(final Profile profile, final byte[] results) {
+            for (final Node child : children) {
+                if (child.evaluate(profile, results) == any) {
+                    return any;
+                }
+            }
+            return !any;
+        }
+
+        @Override
+        long cost() {
+            long sum = 0;
+            for (final Node child : children) {
+                sum += child.cost();
+            }
+            return sum;
+        }
+
+        @Override
+        void reorder() {
+            final Node[] ordered = children.clone();
+            for (final Node child : ordered) {
+                child.reorder();
+            }
+            Arrays.sort(ordered, Comparator.comparingLong(Node::cost));
+            children = ordered;
+        }
+    }
+
+    /**
+     * The state of compiling one expression.
+     */
+    private static final class Compilation {
+        /**
+         * The leaves of the expression, by condition and inversion.
+         */
+        private final Map<List<Object>, Leaf> leaves = new HashMap<>();
+
+        /**
+         * The {@code and} and {@code or} conditions that are currently flattened, to stop at cycles.
+         */
+        private final Set<ConditionID> flattening = new HashSet<>();
+
+        private Expression compile(final ConditionID... conditionIDs) {
+            final Node root = group(false, Arrays.asList(conditionIDs));
+            return new Expression(root, leaves.size());
+        }
+
+        private Node group(final boolean any, final Collection<ConditionID> conditionIDs) {
+            final List<Node> children = new ArrayList<>();
+            for (final ConditionID conditionID : conditionIDs) {
+                final Node child = node(conditionID);
+                if (child instanceof Group && ((Group) child).any == any) {
+                    for (final Node grandChild : ((Group) child).children) {
+                        addDistinct(children, grandChild);
+                    }
+                } else {
+                    addDistinct(children, child);
+                }
+            }
+            return new Group(any, children);
+        }
+
+        private void addDistinct(final List<Node> children, final Node child) {
+            if (!children.contains(child)) {
+                children.add(child);
+            }
+        }
+
+        private Node node(final ConditionID conditionID) {
+            final Condition condition = conditionID == null ? null : BetonQuest.getCondition(conditionID);
+            if (condition != null && !conditionID.inverted() && flattening.add(conditionID)) {
+                try {
+                    if (condition instanceof ConjunctionCondition) {
+                        return group(false, ((ConjunctionCondition) condition).getConditionIDs());
+                    }
+                    if (condition instanceof AlternativeCondition) {
+                        return group(true, ((AlternativeCondition) condition).getConditionIDs());
+                    }
+                } finally {
+                    flattening.remove(conditionID);
+                }
+            }
+            final List<Object> key = Arrays.asList(conditionID, conditionID != null && conditionID.inverted());
+            return leaves.computeIfAbsent(key, k -> new Leaf(conditionID, leaves.size(),
+                    condition != null && condition.isCacheable() ? 0 : DEFAULT_COST));
+        }
+    }
+
+    /**
+     * A list of conditions that also compares their inversion.
+     */
+    private static final class Key {
+        private final ConditionID[] conditionIDs;
+
+        private final int hash;
+
+        private Key(final ConditionID... conditionIDs) {
+            this.conditionIDs = conditionIDs;
+            int result = 1;
+            for (final ConditionID conditionID : conditionIDs) {
+                result = 31 * result + (conditionID == null ? 0 : conditionID.hashCode() * 2 + (conditionID.inverted() ? 1 : 0));
+            }
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final ConditionID[] otherIDs = ((Key) other).conditionIDs;
+            if (otherIDs.length != conditionIDs.length) {
+                return false;
+            }
+            for (int i = 0; i < conditionIDs.length; i++) {
+                final ConditionID own = conditionIDs[i];
+                final ConditionID foreign = otherIDs[i];
+                if (own == null ? foreign != null : foreign == null || !own.equals(foreign) || own.inverted() != foreign.inverted()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
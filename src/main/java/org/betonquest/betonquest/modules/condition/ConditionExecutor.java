@@ -0,0 +1,275 @@
+package org.betonquest.betonquest.modules.condition;
+
+import org.betonquest.betonquest.BetonQuest;
+import org.betonquest.betonquest.api.Condition;
+import org.betonquest.betonquest.api.profiles.Profile;
+import org.betonquest.betonquest.id.ConditionID;
+import org.betonquest.betonquest.modules.thread.PrimaryServerThreadExecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks conditions in parallel on a dedicated, bounded thread pool instead of the common pool of the JVM.
+ * <p>
+ * Conditions that are forced to be sync block their thread until the main thread checked them, so they would starve
+ * a shared pool. If the queue of this pool is full, the condition is checked by the calling thread instead.
+ * Conditions that are checked from inside the pool, like the ones of an {@code or} condition, are checked one after
+ * another on the same thread, so the pool can't deadlock waiting for itself.
+ * <p>
+ * Conditions that are forced to be sync are not checked by the pool, but handed directly to the
+ * {@link PrimaryServerThreadExecutor}, so no thread has to wait for them.
+ * <p>
+ * As soon as the outcome of a group of conditions is known, the conditions that didn't start yet are skipped.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class ConditionExecutor {
+    /**
+     * The threads of the pool.
+     */
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The pool that checks the conditions.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The executor for conditions that are forced to be sync.
+     */
+    private final PrimaryServerThreadExecutor primaryThread;
+
+    /**
+     * The total time conditions waited in the queue, in nanoseconds.
+     */
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * The total time spent checking conditions, in nanoseconds.
+     */
+    private final LongAdder runNanos = new LongAdder();
+
+    /**
+     * The amount of conditions that were checked.
+     */
+    private final LongAdder checked = new LongAdder();
+
+    /**
+     * The amount of conditions that were skipped because the outcome was already known.
+     */
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * The amount of conditions that were checked by the calling thread because the queue was full.
+     */
+    private final LongAdder saturated = new LongAdder();
+
+    /**
+     * Creates a new executor.
+     *
+     * @param primaryThread the executor for conditions that are forced to be sync
+     * @param threads       the amount of threads
+     * @param queueSize     the maximum amount of conditions waiting to be checked
+     */
+    public ConditionExecutor(final PrimaryServerThreadExecutor primaryThread, final int threads, final int queueSize) {
+        this.primaryThread = primaryThread;
+        final AtomicInteger counter = new AtomicInteger();
+        final RejectedExecutionHandler runInCaller = (runnable, pool) -> {
+            saturated.increment();
+            runnable.run();
+        };
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+            final Thread thread = new Thread(runnable, "BetonQuest-Conditions-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            workers.add(thread);
+            return thread;
+        }, runInCaller);
+    }
+
+    /**
+     * Checks if all conditions are met.
+     *
+     * @param profile      the {@link Profile} to check the conditions for
+     * @param conditionIDs the conditions to check
+     * @return true if all conditions are met
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     * @throws ExecutionException   if a condition threw an exception
+     */
+    public boolean all(final Profile profile, final ConditionID... conditionIDs) throws InterruptedException, ExecutionException {
+        return evaluate(profile, Arrays.asList(conditionIDs), false);
+    }
+
+    /**
+     * Checks if any condition is met.
+     *
+     * @param profile      the {@link Profile} to check the conditions for
+     * @param conditionIDs the conditions to check
+     * @return true if at least one condition is met
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     * @throws ExecutionException   if a condition threw an exception
+     */
+    public boolean any(final Profile profile, final Collection<ConditionID> conditionIDs) throws InterruptedException, ExecutionException {
+        return evaluate(profile, conditionIDs, true);
+    }
+
+    /**
+     * Starts checking if all conditions are met. Cancelling the returned future skips the conditions that didn't
+     * start yet.
+     *
+     * @param profile      the {@link Profile} to check the conditions for
+     * @param conditionIDs the conditions to check
+     * @return the future that is completed with true if all conditions are met
+     */
+    public CompletableFuture<Boolean> allAsync(final Profile profile, final Collection<ConditionID> conditionIDs) {
+        return evaluateAsync(profile, conditionIDs, false);
+    }
+
+    private boolean evaluate(final Profile profile, final Collection<ConditionID> conditionIDs, final boolean stopOn)
+            throws InterruptedException, ExecutionException {
+        if (workers.contains(Thread.currentThread())) {
+            for (final ConditionID conditionID : conditionIDs) {
+                if (BetonQuest.condition(profile, conditionID) == stopOn) {
+                    return stopOn;
+                }
+            }
+            return !stopOn;
+        }
+        final CompletableFuture<Boolean> result = evaluateAsync(profile, conditionIDs, stopOn);
+        try {
+            return result.get();
+        } finally {
+            result.cancel(false);
+        }
+    }
+
+    /**
+     * Checks the conditions in parallel until one of them has the given outcome.
+     *
+     * @param profile      the {@link Profile} to check the conditions for
+     * @param conditionIDs the conditions to check
+     * @param stopOn       the outcome that decides the result
+     * @return the future that is completed with stopOn if any condition had that outcome, or with the opposite
+     */
+    private CompletableFuture<Boolean> evaluateAsync(final Profile profile, final Collection<ConditionID> conditionIDs,
+                                                     final boolean stopOn) {
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        if (conditionIDs.isEmpty()) {
+            result.complete(!stopOn);
+            return result;
+        }
+        final AtomicInteger remaining = new AtomicInteger(conditionIDs.size());
+        final List<CompletableFuture<Boolean>> futures = new ArrayList<>(conditionIDs.size());
+        for (final ConditionID conditionID : conditionIDs) {
+            final CompletableFuture<Boolean> future = submit(profile, conditionID);
+            futures.add(future);
+            future.whenComplete((met, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else if (met == stopOn) {
+                    result.complete(stopOn);
+                } else if (remaining.decrementAndGet() == 0) {
+                    result.complete(!stopOn);
+                }
+            });
+        }
+        result.whenComplete((met, error) -> futures.forEach(future -> future.cancel(false)));
+        return result;
+    }
+
+    private CompletableFuture<Boolean> submit(final Profile profile, final ConditionID conditionID) {
+        final Condition condition = conditionID == null ? null : BetonQuest.getCondition(conditionID);
+        if (condition != null && condition.isForceSync()) {
+            return primaryThread.submit(() -> BetonQuest.condition(profile, conditionID));
+        }
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        final long submitted = System.nanoTime();
+        executor.execute(() -> {
+            if (future.isDone()) {
+                skipped.increment();
+                return;
+            }
+            final long start = System.nanoTime();
+            waitNanos.add(start - submitted);
+            try {
+                future.complete(BetonQuest.condition(profile, conditionID));
+            } catch (final RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                runNanos.add(System.nanoTime() - start);
+                checked.increment();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return the average time a condition waited in the queue, in nanoseconds
+     */
+    public long getAverageWaitTime() {
+        final long count = checked.sum();
+        return count == 0 ? 0 : waitNanos.sum() / count;
+    }
+
+    /**
+     * @return the average time it took to check a condition, in nanoseconds
+     */
+    public long getAverageRunTime() {
+        final long count = checked.sum();
+        return count == 0 ? 0 : runNanos.sum() / count;
+    }
+
+    /**
+     * @return the amount of conditions that were checked
+     */
+    public long getCheckedCount() {
+        return checked.sum();
+    }
+
+    /**
+     * @return the amount of conditions that were skipped because the outcome was already known
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * @return the amount of conditions that were checked by the calling thread because the pool was saturated
+     */
+    public long getSaturatedCount() {
+        return saturated.sum();
+    }
+
+    /**
+     * @return the amount of threads that are currently checking conditions
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return the amount of conditions waiting in the queue
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stops the pool. Conditions that are checked afterwards run on the calling thread.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
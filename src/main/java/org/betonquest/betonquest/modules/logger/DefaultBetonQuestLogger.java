@@ -24,17 +24,25 @@ public class DefaultBetonQuestLogger implements BetonQuestLogger {
      */
     private final Logger logger;
 
+    /**
+     * The handlers that receive the records, to check if debug records are needed.
+     */
+    private final HandlerLevelRegistry handlerLevels;
+
     /**
      * Creates a decorator for the {@link TopicLogger}.
      *
-     * @param plugin       The {@link Plugin} this logger belongs to.
-     * @param parentLogger The parent logger for this logger.
-     * @param clazz        The calling class.
-     * @param topic        The topic of the logger.
+     * @param plugin        The {@link Plugin} this logger belongs to.
+     * @param parentLogger  The parent logger for this logger.
+     * @param clazz         The calling class.
+     * @param topic         The topic of the logger.
+     * @param handlerLevels The handlers that receive the records.
      */
-    public DefaultBetonQuestLogger(@NotNull final Plugin plugin, final Logger parentLogger, final Class<?> clazz, final String topic) {
+    public DefaultBetonQuestLogger(@NotNull final Plugin plugin, final Logger parentLogger, final Class<?> clazz, final String topic,
+                                   final HandlerLevelRegistry handlerLevels) {
         this.plugin = plugin;
         this.logger = new TopicLogger(parentLogger, clazz, topic);
+        this.handlerLevels = handlerLevels;
     }
 
     @Override
@@ -44,6 +52,9 @@ public class DefaultBetonQuestLogger implements BetonQuestLogger {
 
     @Override
     public void debug(final QuestPackage pack, final String msg) {
+        if (!isDebugEnabled()) {
+            return;
+        }
         final BetonQuestLogRecord record = new BetonQuestLogRecord(Level.FINE, msg, plugin, pack);
         logger.log(record);
     }
@@ -55,11 +66,19 @@ public class DefaultBetonQuestLogger implements BetonQuestLogger {
 
     @Override
     public void debug(final QuestPackage pack, final String msg, final Throwable thrown) {
+        if (!isDebugEnabled()) {
+            return;
+        }
         final BetonQuestLogRecord record = new BetonQuestLogRecord(Level.FINE, msg, plugin, pack);
         record.setThrown(thrown);
         logger.log(record);
     }
 
+    @Override
+    public boolean isDebugEnabled() {
+        return handlerLevels.isLoggable(Level.FINE);
+    }
+
     @Override
     public void info(final String msg) {
         info(null, msg);
@@ -91,6 +110,9 @@ public class DefaultBetonQuestLogger implements BetonQuestLogger {
     public void warn(final QuestPackage pack, final String msg, final Throwable thrown) {
         final BetonQuestLogRecord record = new BetonQuestLogRecord(Level.WARNING, msg, plugin, pack);
         logger.log(record);
+        if (!isDebugEnabled()) {
+            return;
+        }
 
         final BetonQuestLogRecord recordThrowable = new BetonQuestLogRecord(Level.FINE, "Additional stacktrace:", plugin, pack);
         recordThrowable.setThrown(thrown);
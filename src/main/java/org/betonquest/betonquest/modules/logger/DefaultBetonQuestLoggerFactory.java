@@ -11,10 +11,18 @@ import org.jetbrains.annotations.Nullable;
  * Factory for creating {@link BetonQuestLogger} instances.
  */
 public class DefaultBetonQuestLoggerFactory implements BetonQuestLoggerFactory {
+    /**
+     * The handlers that receive the records of the created loggers.
+     */
+    private final HandlerLevelRegistry handlerLevels;
+
     /**
      * Creates a new instance.
+     *
+     * @param handlerLevels the handlers that receive the records of the created loggers
      */
-    public DefaultBetonQuestLoggerFactory() {
+    public DefaultBetonQuestLoggerFactory(final HandlerLevelRegistry handlerLevels) {
+        this.handlerLevels = handlerLevels;
     }
 
     @Override
@@ -26,7 +34,7 @@ public class DefaultBetonQuestLoggerFactory implements BetonQuestLoggerFactory {
         }
         for (final Plugin plugin : Bukkit.getPluginManager().getPlugins()) {
             if (plugin.getClass().getClassLoader().equals(clazz.getClassLoader())) {
-                return new DefaultBetonQuestLogger(plugin, plugin.getLogger(), clazz, topic);
+                return new DefaultBetonQuestLogger(plugin, plugin.getLogger(), clazz, topic, handlerLevels);
             }
         }
         throw new IllegalStateException("The class '" + clazz.getName()
@@ -36,6 +44,6 @@ public class DefaultBetonQuestLoggerFactory implements BetonQuestLoggerFactory {
 
     @Override
     public BetonQuestLogger create(@NotNull final Plugin plugin, @Nullable final String topic) {
-        return new DefaultBetonQuestLogger(plugin, plugin.getLogger(), plugin.getClass(), topic);
+        return new DefaultBetonQuestLogger(plugin, plugin.getLogger(), plugin.getClass(), topic, handlerLevels);
     }
 }
@@ -0,0 +1,62 @@
+package org.betonquest.betonquest.modules.logger;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+/**
+ * Keeps track of the {@link Handler}s that receive BetonQuest's {@link BetonQuestLogRecord}s, so loggers can tell
+ * whether any of them accepts a level before building a record for it.
+ * <p>
+ * The handlers are asked for their current {@link Handler#getLevel() level} on every check, so handlers that change
+ * what they accept at runtime are taken into account.
+ */
+public class HandlerLevelRegistry {
+    /**
+     * The registered handlers.
+     */
+    private final Set<Handler> handlers = new CopyOnWriteArraySet<>();
+
+    /**
+     * Creates a new registry without any handlers.
+     */
+    public HandlerLevelRegistry() {
+        // Empty
+    }
+
+    /**
+     * Registers a handler that receives BetonQuest's log records.
+     *
+     * @param handler the handler to register
+     */
+    public void register(final Handler handler) {
+        handlers.add(handler);
+    }
+
+    /**
+     * Unregisters a handler.
+     *
+     * @param handler the handler to unregister
+     */
+    public void unregister(final Handler handler) {
+        handlers.remove(handler);
+    }
+
+    /**
+     * Checks if any registered handler accepts records with the given level.
+     *
+     * @param level the level to check
+     * @return true if at least one handler accepts the level
+     */
+    public boolean isLoggable(final Level level) {
+        final int value = level.intValue();
+        for (final Handler handler : handlers) {
+            final int handlerValue = handler.getLevel().intValue();
+            if (handlerValue != Level.OFF.intValue() && value >= handlerValue) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
 /**
@@ -35,6 +36,18 @@ public class AccumulatingReceiverSelector implements RecordReceiverSelector, Rec
         return matches;
     }
 
+    @Override
+    public Level getMinimumLevel() {
+        Level minimum = Level.OFF;
+        for (final RecordReceiverSelector selector : partialSelectors) {
+            final Level level = selector.getMinimumLevel();
+            if (level.intValue() < minimum.intValue()) {
+                minimum = level;
+            }
+        }
+        return minimum;
+    }
+
     @Override
     public void addSelector(final RecordReceiverSelector selector) {
         partialSelectors.add(selector);
@@ -7,6 +7,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.logging.ErrorManager;
 import java.util.logging.Handler;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
 /**
@@ -74,6 +75,18 @@ public class ChatHandler extends Handler {
         }
     }
 
+    /**
+     * Gets the lowest level this handler currently accepts, which is the lowest level any player watches.
+     *
+     * @return the level of this handler
+     */
+    @Override
+    public Level getLevel() {
+        final Level level = super.getLevel();
+        final Level watched = receiverSelector.getMinimumLevel();
+        return watched.intValue() > level.intValue() ? watched : level;
+    }
+
     @Override
     public void flush() {
         // Empty
@@ -92,6 +92,11 @@ public class PlayerPackageReceiverSelector implements RecordReceiverSelector {
         return Collections.emptySet();
     }
 
+    @Override
+    public Level getMinimumLevel() {
+        return minimumLevel;
+    }
+
     private boolean match(final LogRecord record) {
         return isLevelIncluded(record.getLevel())
                 && isPackageIncluded(extractPackage(record));
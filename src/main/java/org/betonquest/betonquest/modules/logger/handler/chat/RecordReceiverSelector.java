@@ -2,6 +2,7 @@ package org.betonquest.betonquest.modules.logger.handler.chat;
 
 import java.util.Set;
 import java.util.UUID;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
 /**
@@ -16,4 +17,11 @@ public interface RecordReceiverSelector {
      * @return a set of players that should receive the record
      */
     Set<UUID> findReceivers(LogRecord record);
+
+    /**
+     * Get the lowest level for which this selector may select any players.
+     *
+     * @return the lowest selected level, or {@link Level#OFF} if no players are selected at all
+     */
+    Level getMinimumLevel();
 }
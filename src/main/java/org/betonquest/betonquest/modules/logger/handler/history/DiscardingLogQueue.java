@@ -23,6 +23,11 @@ public class DiscardingLogQueue implements LogRecordQueue {
         return false;
     }
 
+    @Override
+    public boolean isKeepingRecords() {
+        return false;
+    }
+
     @Override
     public void publishNext(final Handler publishingTarget) {
         throw new UnsupportedOperationException("A discarding log queue can't publish log records as it doesn't keep any.");
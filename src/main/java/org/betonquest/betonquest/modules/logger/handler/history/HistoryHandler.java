@@ -94,6 +94,21 @@ public class HistoryHandler extends Handler implements LogPublishingController {
         }
     }
 
+    /**
+     * Gets the lowest level this handler currently accepts. While not logging, records that would be discarded by the
+     * history are not accepted.
+     *
+     * @return the level of this handler
+     */
+    @Override
+    public Level getLevel() {
+        final Level level = super.getLevel();
+        if (isLogging() || recordQueue.isKeepingRecords() || level.intValue() >= Level.INFO.intValue()) {
+            return level;
+        }
+        return Level.INFO;
+    }
+
     @Override
     public void flush() {
         target.flush();
@@ -23,6 +23,13 @@ public interface LogRecordQueue {
      */
     boolean canPublish();
 
+    /**
+     * Check whether the queue keeps pushed records at all.
+     *
+     * @return true if pushed records can be published later; false if they are discarded
+     */
+    boolean isKeepingRecords();
+
     /**
      * Publish the next record in the queue.
      *
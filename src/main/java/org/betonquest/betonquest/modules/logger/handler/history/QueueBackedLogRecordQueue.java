@@ -33,6 +33,11 @@ public class QueueBackedLogRecordQueue implements LogRecordQueue {
         return !getRecordQueue().isEmpty();
     }
 
+    @Override
+    public final boolean isKeepingRecords() {
+        return true;
+    }
+
     @Override
     public final void publishNext(final Handler publishingTarget) {
         publishingTarget.publish(getRecordQueue().poll());
@@ -0,0 +1,534 @@
+package org.betonquest.betonquest.modules.movement;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Dispatches player movement to the objectives that are interested in it.
+ * <p>
+ * Instead of registering their own move listeners, objectives register the {@link Area} they watch. The areas are kept
+ * in a grid per world, so a move is only passed to the areas whose cells contain the start or the end of the move.
+ * Areas that can't be located, for example because they depend on variables, receive every move.
+ * The dispatcher also keeps the positions of all online players in the same grid, so objectives can look up the players
+ * near a location without checking everyone.
+ * <p>
+ * This class must only be used from the main thread.
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.CommentRequired"})
+public class MovementDispatcher implements Listener {
+    /**
+     * The size of a grid cell in blocks, as the power of two.
+     */
+    private static final int CELL_SHIFT = 4;
+
+    /**
+     * The maximum amount of cells an area is inserted into. Larger areas receive all moves in their world.
+     */
+    private static final int MAX_CELLS = 1024;
+
+    /**
+     * The plugin that owns the dispatcher.
+     */
+    private final Plugin plugin;
+
+    /**
+     * The registered areas by the name of their world.
+     */
+    private final Map<String, WorldIndex> worlds = new HashMap<>();
+
+    /**
+     * The registered areas without a location.
+     */
+    private final List<Registration> unbounded = new ArrayList<>();
+
+    /**
+     * The online players by the name of their world and their cell.
+     */
+    private final Map<String, Map<Long, Set<Player>>> playerCells = new HashMap<>();
+
+    /**
+     * The world and cell every online player is stored in.
+     */
+    private final Map<UUID, PlayerPosition> playerPositions = new HashMap<>();
+
+    /**
+     * The amount of registered areas.
+     */
+    private int registrations;
+
+    /**
+     * The amount of dispatched moves.
+     */
+    private long moves;
+
+    /**
+     * The amount of handler calls for all dispatched moves.
+     */
+    private long handlerCalls;
+
+    /**
+     * Creates a new dispatcher and registers it as listener.
+     *
+     * @param plugin the plugin to register the listener for
+     */
+    public MovementDispatcher(final Plugin plugin) {
+        this.plugin = plugin;
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            track(player, player.getLocation());
+        }
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Registers a handler for all moves into, inside or out of the given area.
+     * The handler may be called for moves around the area as well, so it must check the location itself.
+     *
+     * @param area    the area to watch, null to receive all moves
+     * @param handler the handler to call
+     * @return the registration to {@link #unregister(Registration) unregister} the handler
+     */
+    public Registration register(final Area area, final MoveHandler handler) {
+        final Registration registration = new Registration(area, handler);
+        registrations++;
+        if (area == null) {
+            unbounded.add(registration);
+        } else {
+            worlds.computeIfAbsent(area.world, world -> new WorldIndex()).add(registration);
+        }
+        return registration;
+    }
+
+    /**
+     * Unregisters a handler. It won't be called anymore, even if it is unregistered during a dispatch.
+     *
+     * @param registration the registration of the handler
+     */
+    public void unregister(final Registration registration) {
+        if (!registration.active) {
+            return;
+        }
+        registration.active = false;
+        registrations--;
+        if (registration.area == null) {
+            unbounded.remove(registration);
+            return;
+        }
+        final WorldIndex index = worlds.get(registration.area.world);
+        if (index != null) {
+            index.remove(registration);
+            if (index.isEmpty()) {
+                worlds.remove(registration.area.world);
+            }
+        }
+    }
+
+    /**
+     * Returns the online players whose distance to the location is at most the radius.
+     *
+     * @param center the center of the search
+     * @param radius the maximum distance
+     * @return the players in range
+     */
+    public List<Player> getPlayersNear(final Location center, final double radius) {
+        final List<Player> result = new ArrayList<>();
+        final World world = center.getWorld();
+        final Map<Long, Set<Player>> cells = world == null ? null : playerCells.get(world.getName());
+        if (cells == null) {
+            return result;
+        }
+        final double radiusSquared = radius * radius;
+        final int minX = cell(center.getX() - radius);
+        final int maxX = cell(center.getX() + radius);
+        final int minZ = cell(center.getZ() - radius);
+        final int maxZ = cell(center.getZ() + radius);
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > cells.size()) {
+            for (final Set<Player> players : cells.values()) {
+                addInRange(players, center, radiusSquared, result);
+            }
+            return result;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final Set<Player> players = cells.get(key(x, z));
+                if (players != null) {
+                    addInRange(players, center, radiusSquared, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the amount of registered areas
+     */
+    public int getRegistrationCount() {
+        return registrations;
+    }
+
+    /**
+     * @return the amount of moves that were dispatched
+     */
+    public long getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * @return the amount of handler calls for all dispatched moves
+     */
+    public long getHandlerCallCount() {
+        return handlerCalls;
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onMove(final PlayerMoveEvent event) {
+        dispatch(event.getPlayer(), event.getFrom(), event.getTo());
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onVehicleMove(final VehicleMoveEvent event) {
+        for (final Entity passenger : event.getVehicle().getPassengers()) {
+            if (passenger instanceof Player) {
+                dispatch((Player) passenger, event.getFrom(), event.getTo());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMoved(final PlayerMoveEvent event) {
+        track(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMoved(final VehicleMoveEvent event) {
+        for (final Entity passenger : event.getVehicle().getPassengers()) {
+            if (passenger instanceof Player) {
+                track((Player) passenger, event.getTo());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleported(final PlayerTeleportEvent event) {
+        track(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(final PlayerJoinEvent event) {
+        track(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final PlayerQuitEvent event) {
+        untrack(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(final PlayerChangedWorldEvent event) {
+        track(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(final PlayerRespawnEvent event) {
+        final Player player = event.getPlayer();
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (player.isOnline()) {
+                track(player, player.getLocation());
+            }
+        });
+    }
+
+    private void dispatch(final Player player, final Location from, final Location to) {
+        if (registrations == 0 || to == null || to.getWorld() == null) {
+            return;
+        }
+        moves++;
+        final Set<Registration> candidates = new LinkedHashSet<>(unbounded);
+        final WorldIndex index = worlds.get(to.getWorld().getName());
+        if (index != null) {
+            index.collect(to, candidates);
+            if (from != null && to.getWorld().equals(from.getWorld())) {
+                index.collect(from, candidates);
+            }
+        }
+        if (from != null && from.getWorld() != null && !from.getWorld().equals(to.getWorld())) {
+            final WorldIndex fromIndex = worlds.get(from.getWorld().getName());
+            if (fromIndex != null) {
+                fromIndex.collect(from, candidates);
+            }
+        }
+        for (final Registration registration : candidates) {
+            if (registration.active) {
+                handlerCalls++;
+                registration.handler.onMove(player, to);
+            }
+        }
+    }
+
+    private void track(final Player player, final Location location) {
+        final World world = location == null ? null : location.getWorld();
+        if (world == null) {
+            return;
+        }
+        final PlayerPosition position = new PlayerPosition(world.getName(), key(cell(location.getX()), cell(location.getZ())));
+        final PlayerPosition previous = playerPositions.put(player.getUniqueId(), position);
+        if (position.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removePlayer(player, previous);
+        }
+        playerCells.computeIfAbsent(position.world, name -> new HashMap<>())
+                .computeIfAbsent(position.cell, cell -> new HashSet<>()).add(player);
+    }
+
+    private void untrack(final Player player) {
+        final PlayerPosition previous = playerPositions.remove(player.getUniqueId());
+        if (previous != null) {
+            removePlayer(player, previous);
+        }
+    }
+
+    private void removePlayer(final Player player, final PlayerPosition position) {
+        final Map<Long, Set<Player>> cells = playerCells.get(position.world);
+        if (cells == null) {
+            return;
+        }
+        final Set<Player> players = cells.get(position.cell);
+        if (players != null && players.remove(player) && players.isEmpty()) {
+            cells.remove(position.cell);
+            if (cells.isEmpty()) {
+                playerCells.remove(position.world);
+            }
+        }
+    }
+
+    private static void addInRange(final Collection<Player> players, final Location center, final double radiusSquared,
+                                   final List<Player> result) {
+        for (final Player player : players) {
+            final Location location = player.getLocation();
+            if (center.getWorld().equals(location.getWorld()) && location.distanceSquared(center) <= radiusSquared) {
+                result.add(player);
+            }
+        }
+    }
+
+    private static int cell(final double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long key(final int cellX, final int cellZ) {
+        return (long) cellX << 32 | cellZ & 0xFFFF_FFFFL;
+    }
+
+    /**
+     * Handler for the moves of a player.
+     */
+    @FunctionalInterface
+    public interface MoveHandler {
+        /**
+         * Called when a player moved near the registered area.
+         *
+         * @param player   the player that moved
+         * @param location the location the player moved to
+         */
+        void onMove(Player player, Location location);
+    }
+
+    /**
+     * A rectangular area in a world, ignoring the height.
+     */
+    public static final class Area {
+        private final String world;
+
+        private final int minCellX;
+
+        private final int minCellZ;
+
+        private final int maxCellX;
+
+        private final int maxCellZ;
+
+        private Area(final String world, final double minX, final double minZ, final double maxX, final double maxZ) {
+            this.world = world;
+            this.minCellX = cell(minX);
+            this.minCellZ = cell(minZ);
+            this.maxCellX = cell(maxX);
+            this.maxCellZ = cell(maxZ);
+        }
+
+        /**
+         * Creates the area that contains all locations in the given distance of the center.
+         *
+         * @param center the center of the area
+         * @param radius the distance from the center
+         * @return the area, null if the center has no world
+         */
+        public static Area around(final Location center, final double radius) {
+            if (center.getWorld() == null) {
+                return null;
+            }
+            final double distance = Math.max(0, radius);
+            return new Area(center.getWorld().getName(), center.getX() - distance, center.getZ() - distance,
+                    center.getX() + distance, center.getZ() + distance);
+        }
+
+        /**
+         * Creates the area between two corners.
+         *
+         * @param world the world of the area
+         * @param minX  the lowest x coordinate
+         * @param minZ  the lowest z coordinate
+         * @param maxX  the highest x coordinate
+         * @param maxZ  the highest z coordinate
+         * @return the area
+         */
+        public static Area between(final World world, final double minX, final double minZ, final double maxX, final double maxZ) {
+            return new Area(world.getName(), minX, minZ, maxX, maxZ);
+        }
+
+        private long cellCount() {
+            return (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Area)) {
+                return false;
+            }
+            final Area area = (Area) other;
+            return minCellX == area.minCellX && minCellZ == area.minCellZ && maxCellX == area.maxCellX
+                    && maxCellZ == area.maxCellZ && world.equals(area.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(world, minCellX, minCellZ, maxCellX, maxCellZ);
+        }
+    }
+
+    /**
+     * A registered handler.
+     */
+    public static final class Registration {
+        private final Area area;
+
+        private final MoveHandler handler;
+
+        private boolean active = true;
+
+        private Registration(final Area area, final MoveHandler handler) {
+            this.area = area;
+            this.handler = handler;
+        }
+    }
+
+    /**
+     * The registered areas of one world.
+     */
+    private static class WorldIndex {
+        private final Map<Long, List<Registration>> cells = new HashMap<>();
+
+        private final List<Registration> worldWide = new ArrayList<>();
+
+        void add(final Registration registration) {
+            final Area area = registration.area;
+            if (area.cellCount() > MAX_CELLS) {
+                worldWide.add(registration);
+                return;
+            }
+            for (int x = area.minCellX; x <= area.maxCellX; x++) {
+                for (int z = area.minCellZ; z <= area.maxCellZ; z++) {
+                    cells.computeIfAbsent(key(x, z), cell -> new ArrayList<>()).add(registration);
+                }
+            }
+        }
+
+        void remove(final Registration registration) {
+            final Area area = registration.area;
+            if (area.cellCount() > MAX_CELLS) {
+                worldWide.remove(registration);
+                return;
+            }
+            for (int x = area.minCellX; x <= area.maxCellX; x++) {
+                for (int z = area.minCellZ; z <= area.maxCellZ; z++) {
+                    final long key = key(x, z);
+                    final List<Registration> registrations = cells.get(key);
+                    if (registrations != null && registrations.remove(registration) && registrations.isEmpty()) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+
+        void collect(final Location location, final Set<Registration> target) {
+            target.addAll(worldWide);
+            final List<Registration> registrations = cells.get(key(cell(location.getX()), cell(location.getZ())));
+            if (registrations != null) {
+                target.addAll(registrations);
+            }
+        }
+
+        boolean isEmpty() {
+            return cells.isEmpty() && worldWide.isEmpty();
+        }
+    }
+
+    /**
+     * The world and cell of a player.
+     */
+    private static class PlayerPosition {
+        private final String world;
+
+        private final long cell;
+
+        PlayerPosition(final String world, final long cell) {
+            this.world = world;
+            this.cell = cell;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PlayerPosition)) {
+                return false;
+            }
+            final PlayerPosition position = (PlayerPosition) other;
+            return cell == position.cell && world.equals(position.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return world.hashCode() * 31 + Long.hashCode(cell);
+        }
+    }
+}
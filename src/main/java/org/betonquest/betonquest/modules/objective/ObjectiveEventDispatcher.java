@@ -0,0 +1,279 @@
+package org.betonquest.betonquest.modules.objective;
+
+import org.betonquest.betonquest.api.Objective;
+import org.betonquest.betonquest.api.logger.BetonQuestLogger;
+import org.betonquest.betonquest.api.profiles.OnlineProfile;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Routes Bukkit events to the objectives that handle them.
+ * <p>
+ * Instead of registering themselves as listeners, objectives subscribe to an event type. There is only one Bukkit
+ * listener per event type and priority, no matter how many objectives subscribed. For every event it resolves the
+ * acting profile and only checks the objectives that profile has active. Subscriptions can name the keys they are
+ * interested in, like the materials of a block, so the objective is only called for events with a matching key.
+ * Cancelled events are ignored. An exception of one objective is logged and doesn't keep the others from handling
+ * the event.
+ */
+public class ObjectiveEventDispatcher {
+    /**
+     * Custom {@link BetonQuestLogger} instance for this class.
+     */
+    private final BetonQuestLogger log;
+
+    /**
+     * The plugin that registers the listeners.
+     */
+    private final Plugin plugin;
+
+    /**
+     * The routes by their event type and priority.
+     */
+    private final Map<RouteKey, Route<?>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new dispatcher without any listeners.
+     *
+     * @param log    the logger for exceptions of the objectives
+     * @param plugin the plugin that registers the listeners
+     */
+    public ObjectiveEventDispatcher(final BetonQuestLogger log, final Plugin plugin) {
+        this.log = log;
+        this.plugin = plugin;
+    }
+
+    /**
+     * Subscribes an objective to an event type. The handler is only called for profiles that have the objective
+     * active, so it doesn't have to check that again.
+     * <p>
+     * The profile resolver should be a non-capturing lambda, so all objectives of the same type share it and the
+     * profile is only resolved once per event.
+     *
+     * @param objective the objective that handles the events
+     * @param eventType the type of the events
+     * @param priority  the priority to handle the events with
+     * @param profileOf resolves the acting profile of an event, may return null if there is none
+     * @param keyOf     resolves the key of an event, like the material of a block
+     * @param keys      the keys the objective is interested in, null for all events
+     * @param handler   handles the event for the profile
+     * @param <E>       the type of the events
+     */
+    public <E extends Event> void subscribe(final Objective objective, final Class<E> eventType, final EventPriority priority,
+                                            final Function<? super E, ? extends OnlineProfile> profileOf,
+                                            final Function<? super E, ?> keyOf, final Collection<?> keys,
+                                            final BiConsumer<? super E, OnlineProfile> handler) {
+        @SuppressWarnings("unchecked")
+        final Route<E> route = (Route<E>) routes.computeIfAbsent(new RouteKey(eventType, priority),
+                key -> new Route<>(eventType, priority));
+        route.add(objective, new Subscription<>(profileOf, keyOf, keys == null ? null : new HashSet<>(keys), handler));
+    }
+
+    /**
+     * Subscribes an objective to all events of a type. See
+     * {@link #subscribe(Objective, Class, EventPriority, Function, Function, Collection, BiConsumer)}.
+     *
+     * @param objective the objective that handles the events
+     * @param eventType the type of the events
+     * @param priority  the priority to handle the events with
+     * @param profileOf resolves the acting profile of an event, may return null if there is none
+     * @param handler   handles the event for the profile
+     * @param <E>       the type of the events
+     */
+    public <E extends Event> void subscribe(final Objective objective, final Class<E> eventType, final EventPriority priority,
+                                            final Function<? super E, ? extends OnlineProfile> profileOf,
+                                            final BiConsumer<? super E, OnlineProfile> handler) {
+        subscribe(objective, eventType, priority, profileOf, event -> null, null, handler);
+    }
+
+    /**
+     * Removes all subscriptions of an objective.
+     *
+     * @param objective the objective to unsubscribe
+     */
+    public void unsubscribe(final Objective objective) {
+        for (final Route<?> route : routes.values()) {
+            route.remove(objective);
+        }
+    }
+
+    /**
+     * @return the amount of Bukkit listeners that are currently registered
+     */
+    public int getListenerCount() {
+        int count = 0;
+        for (final Route<?> route : routes.values()) {
+            if (route.isRegistered()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The event type and priority of a route.
+     */
+    private static final class RouteKey {
+        private final Class<? extends Event> eventType;
+
+        private final EventPriority priority;
+
+        private RouteKey(final Class<? extends Event> eventType, final EventPriority priority) {
+            this.eventType = eventType;
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof RouteKey)) {
+                return false;
+            }
+            final RouteKey key = (RouteKey) other;
+            return eventType.equals(key.eventType) && priority == key.priority;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventType, priority);
+        }
+    }
+
+    /**
+     * The subscription of an objective.
+     *
+     * @param <E> the type of the events
+     */
+    private static final class Subscription<E extends Event> {
+        private final Function<? super E, ? extends OnlineProfile> profileOf;
+
+        private final Function<? super E, ?> keyOf;
+
+        private final Set<?> keys;
+
+        private final BiConsumer<? super E, OnlineProfile> handler;
+
+        private Subscription(final Function<? super E, ? extends OnlineProfile> profileOf, final Function<? super E, ?> keyOf,
+                             final Set<?> keys, final BiConsumer<? super E, OnlineProfile> handler) {
+            this.profileOf = profileOf;
+            this.keyOf = keyOf;
+            this.keys = keys;
+            this.handler = handler;
+        }
+
+        private boolean accepts(final E event) {
+            return keys == null || keys.contains(keyOf.apply(event));
+        }
+    }
+
+    /**
+     * The single listener for an event type and priority.
+     *
+     * @param <E> the type of the events
+     */
+    private final class Route<E extends Event> implements Listener, EventExecutor {
+        private final Class<E> eventType;
+
+        private final EventPriority priority;
+
+        private final Map<Objective, List<Subscription<E>>> subscriptions = new ConcurrentHashMap<>();
+
+        /**
+         * The distinct profile resolvers with the amount of subscriptions using them.
+         */
+        private final Map<Function<? super E, ? extends OnlineProfile>, Integer> resolverUsages = new IdentityHashMap<>();
+
+        private volatile List<Function<? super E, ? extends OnlineProfile>> resolvers = new ArrayList<>();
+
+        private boolean registered;
+
+        private Route(final Class<E> eventType, final EventPriority priority) {
+            this.eventType = eventType;
+            this.priority = priority;
+        }
+
+        private synchronized void add(final Objective objective, final Subscription<E> subscription) {
+            subscriptions.computeIfAbsent(objective, key -> new CopyOnWriteArrayList<>()).add(subscription);
+            resolverUsages.merge(subscription.profileOf, 1, Integer::sum);
+            resolvers = new ArrayList<>(resolverUsages.keySet());
+            if (!registered) {
+                Bukkit.getPluginManager().registerEvent(eventType, this, priority, this, plugin, true);
+                registered = true;
+            }
+        }
+
+        private synchronized void remove(final Objective objective) {
+            final List<Subscription<E>> removed = subscriptions.remove(objective);
+            if (removed == null) {
+                return;
+            }
+            for (final Subscription<E> subscription : removed) {
+                resolverUsages.computeIfPresent(subscription.profileOf, (resolver, usages) -> usages == 1 ? null : usages - 1);
+            }
+            resolvers = new ArrayList<>(resolverUsages.keySet());
+            if (subscriptions.isEmpty() && registered) {
+                HandlerList.unregisterAll(this);
+                registered = false;
+            }
+        }
+
+        private synchronized boolean isRegistered() {
+            return registered;
+        }
+
+        @Override
+        public void execute(final Listener listener, final Event event) {
+            if (!eventType.isInstance(event)) {
+                return;
+            }
+            final E typedEvent = eventType.cast(event);
+            for (final Function<? super E, ? extends OnlineProfile> resolver : resolvers) {
+                final OnlineProfile onlineProfile = resolver.apply(typedEvent);
+                if (onlineProfile != null) {
+                    dispatch(typedEvent, onlineProfile, resolver);
+                }
+            }
+        }
+
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        private void dispatch(final E event, final OnlineProfile onlineProfile, final Function<? super E, ? extends OnlineProfile> resolver) {
+            for (final Objective objective : Objective.getActiveObjectives(onlineProfile)) {
+                final List<Subscription<E>> objectiveSubscriptions = subscriptions.get(objective);
+                if (objectiveSubscriptions == null) {
+                    continue;
+                }
+                for (final Subscription<E> subscription : objectiveSubscriptions) {
+                    if (subscription.profileOf == resolver && subscription.accepts(event)
+                            && objective.containsPlayer(onlineProfile)) {
+                        try {
+                            subscription.handler.accept(event, onlineProfile);
+                        } catch (final RuntimeException e) {
+                            log.error(objective.getPackage(), "Error while handling " + eventType.getSimpleName()
+                                    + " for objective '" + objective.getLabel() + "': " + e.getMessage(), e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.betonquest.betonquest.modules.thread;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs work from other threads on the primary server thread.
+ * <p>
+ * All work that is submitted until the primary server thread gets to it is run in one task, instead of scheduling a
+ * task for every call. The submitting thread gets a future, so it can submit more work before waiting for the
+ * results. Work whose future was cancelled before it started is skipped.
+ * <p>
+ * After {@link #shutdown()} no more work is run, so no thread waits for a task the server will never run.
+ */
+public class PrimaryServerThreadExecutor {
+    /**
+     * Server to use to determine if currently on the primary server thread.
+     */
+    private final Server server;
+
+    /**
+     * Plugin to associate the scheduled tasks with.
+     */
+    private final Plugin plugin;
+
+    /**
+     * The work waiting to be run.
+     */
+    private final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether a task to run the queued work is scheduled.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Whether the executor is shut down.
+     */
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+
+    /**
+     * The amount of tasks that ran queued work.
+     */
+    private final AtomicLong batches = new AtomicLong();
+
+    /**
+     * The amount of work that ran in those tasks.
+     */
+    private final AtomicLong tasks = new AtomicLong();
+
+    /**
+     * Creates a new executor.
+     *
+     * @param server server for primary thread identification
+     * @param plugin plugin to associate the scheduled tasks with
+     */
+    public PrimaryServerThreadExecutor(final Server server, final Plugin plugin) {
+        this.server = server;
+        this.plugin = plugin;
+    }
+
+    /**
+     * Runs the callable on the primary server thread. If this is the primary server thread, it is run immediately.
+     * If the executor is shut down, the callable is not run and the future fails with a
+     * {@link RejectedExecutionException}.
+     *
+     * @param callable the work to run
+     * @param <T>      the type of the result
+     * @return the future that is completed with the result of the callable
+     */
+    public <T> CompletableFuture<T> submit(final Callable<T> callable) {
+        final Task<T> task = new Task<>(callable);
+        if (shutdown.get()) {
+            task.future.completeExceptionally(new RejectedExecutionException("The primary server thread executor is shut down."));
+            return task.future;
+        }
+        if (server.isPrimaryThread()) {
+            task.run();
+            return task.future;
+        }
+        queue.add(task);
+        if (shutdown.get()) {
+            // shutdown() may have failed the queue before the task was added
+            failQueued(new CancellationException("The primary server thread executor was shut down."));
+            return task.future;
+        }
+        if (!scheduled.getAndSet(true)) {
+            try {
+                server.getScheduler().runTask(plugin, this::drain);
+            } catch (final IllegalPluginAccessException e) {
+                scheduled.set(false);
+                failQueued(e);
+            }
+        }
+        return task.future;
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        long count = 0;
+        Task<?> task = queue.poll();
+        while (task != null) {
+            task.run();
+            count++;
+            task = queue.poll();
+        }
+        batches.incrementAndGet();
+        tasks.addAndGet(count);
+    }
+
+    private void failQueued(final Throwable cause) {
+        Task<?> task = queue.poll();
+        while (task != null) {
+            task.future.completeExceptionally(cause);
+            task = queue.poll();
+        }
+    }
+
+    /**
+     * Stops the executor. The futures of work that did not run yet fail with a {@link CancellationException} and
+     * work that is submitted afterwards is rejected.
+     */
+    public void shutdown() {
+        shutdown.set(true);
+        failQueued(new CancellationException("The primary server thread executor was shut down."));
+    }
+
+    /**
+     * @return the amount of tasks that ran queued work
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * @return the amount of work that ran in a batch
+     */
+    public long getTaskCount() {
+        return tasks.get();
+    }
+
+    /**
+     * Work and the future for its result.
+     *
+     * @param <T> the type of the result
+     */
+    private static final class Task<T> {
+        private final Callable<T> callable;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Task(final Callable<T> callable) {
+            this.callable = callable;
+        }
+
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        private void run() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(callable.call());
+            } catch (final Exception e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.betonquest.betonquest.modules.variable;
+
+import org.betonquest.betonquest.api.PlayerJournalAddEvent;
+import org.betonquest.betonquest.api.PlayerJournalDeleteEvent;
+import org.betonquest.betonquest.api.PlayerObjectiveChangeEvent;
+import org.betonquest.betonquest.api.PlayerTagAddEvent;
+import org.betonquest.betonquest.api.PlayerTagRemoveEvent;
+import org.betonquest.betonquest.api.QuestDataUpdateEvent;
+import org.betonquest.betonquest.api.Variable;
+import org.betonquest.betonquest.api.profiles.Profile;
+import org.betonquest.betonquest.utils.PlayerConverter;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the values of variables per profile, so variables that are shown again and again, like by holograms,
+ * PlaceholderAPI, menus, the journal and notifications, are only resolved again when their value can have changed.
+ * <p>
+ * The values of {@link Variable#isCacheable() cacheable} variables are kept until the tags, points, journal,
+ * objectives or language of the profile change, and all values when global tags or points change.
+ * Other variables depend on things BetonQuest is not notified about, like the inventory or location of a player.
+ * Their values are only cached if a time to live is configured for their type, and then only for that many ticks.
+ * Values resolved without a profile are never cached.
+ * <p>
+ * The values of offline profiles, like the ones PlaceholderAPI asks for, and expired values are removed once a minute,
+ * so the cache doesn't grow with every profile that was ever looked up.
+ */
+@SuppressWarnings("PMD.CommentRequired")
+public class VariableCache implements Listener {
+    /**
+     * The length of a tick in nanoseconds.
+     */
+    private static final long NANOS_PER_TICK = 50_000_000L;
+
+    /**
+     * The interval in ticks in which the values of offline profiles and expired values are removed.
+     */
+    private static final long CLEANUP_INTERVAL = 1200;
+
+    /**
+     * The cached values by profile and variable.
+     */
+    private final Map<Profile, Map<Variable, Entry>> values = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the values of cacheable variables are cached.
+     */
+    private final boolean cacheDependent;
+
+    /**
+     * The time values of other variables are kept, in nanoseconds, by variable type.
+     */
+    private final Map<String, Long> timesToLive;
+
+    /**
+     * Whether any values are cached at all.
+     */
+    private final boolean enabled;
+
+    /**
+     * The hits and misses by variable type.
+     */
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param plugin         the plugin that registers the listeners
+     * @param cacheDependent whether the values of cacheable variables are cached
+     * @param timesToLive    the amount of ticks the values of other variables are kept, by variable type
+     */
+    public VariableCache(final Plugin plugin, final boolean cacheDependent, final Map<String, Long> timesToLive) {
+        this.cacheDependent = cacheDependent;
+        this.timesToLive = new HashMap<>();
+        timesToLive.forEach((type, ticks) -> {
+            if (ticks > 0) {
+                this.timesToLive.put(type.toLowerCase(Locale.ROOT), ticks * NANOS_PER_TICK);
+            }
+        });
+        this.enabled = cacheDependent || !this.timesToLive.isEmpty();
+        if (enabled) {
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+            Bukkit.getScheduler().runTaskTimer(plugin, this::cleanUp, CLEANUP_INTERVAL, CLEANUP_INTERVAL);
+        }
+    }
+
+    /**
+     * Resolves the variable for the profile, or returns the cached value if there is a valid one.
+     *
+     * @param profile  the {@link Profile} to resolve the variable for, may be null for static variables
+     * @param variable the variable to resolve
+     * @return the value of the variable
+     */
+    public String getValue(final Profile profile, final Variable variable) {
+        if (!enabled || profile == null) {
+            return variable.getValue(profile);
+        }
+        final String type = getType(variable);
+        final long timeToLive;
+        if (cacheDependent && variable.isCacheable()) {
+            timeToLive = 0;
+        } else {
+            timeToLive = timesToLive.getOrDefault(type, -1L);
+            if (timeToLive < 0) {
+                return variable.getValue(profile);
+            }
+        }
+        final Statistics typeStatistics = statistics.computeIfAbsent(type, key -> new Statistics());
+        // if the values are invalidated while resolving, the value is put into the discarded map
+        final Map<Variable, Entry> profileValues = values.computeIfAbsent(profile, key -> new ConcurrentHashMap<>());
+        final long now = System.nanoTime();
+        final Entry cached = profileValues.get(variable);
+        if (cached != null && cached.isValid(now)) {
+            typeStatistics.hits.increment();
+            return cached.value;
+        }
+        typeStatistics.misses.increment();
+        final String value = variable.getValue(profile);
+        if (value != null) {
+            profileValues.put(variable, new Entry(value, timeToLive == 0, now + timeToLive));
+        }
+        return value;
+    }
+
+    /**
+     * Gets the type of the variable, which is the first part of its instruction.
+     *
+     * @param variable the variable
+     * @return the lower case type of the variable
+     */
+    private static String getType(final Variable variable) {
+        final String instruction = variable.toString();
+        final int separator = instruction.indexOf('.');
+        return (separator < 0 ? instruction : instruction.substring(0, separator)).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Forgets all values of the profile.
+     *
+     * @param profile the {@link Profile} whose data changed
+     */
+    public void invalidate(final Profile profile) {
+        values.remove(profile);
+    }
+
+    /**
+     * Forgets all values.
+     */
+    public void invalidateAll() {
+        values.clear();
+    }
+
+    /**
+     * Forgets the values of offline profiles and all expired values.
+     */
+    private void cleanUp() {
+        final long now = System.nanoTime();
+        values.entrySet().removeIf(entry -> {
+            if (entry.getKey().getOnlineProfile().isEmpty()) {
+                return true;
+            }
+            entry.getValue().values().removeIf(cached -> !cached.isValid(now));
+            return false;
+        });
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onTagAdd(final PlayerTagAddEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onTagRemove(final PlayerTagRemoveEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJournalAdd(final PlayerJournalAddEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJournalDelete(final PlayerJournalDeleteEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onObjectiveChange(final PlayerObjectiveChangeEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onQuestDataUpdate(final QuestDataUpdateEvent event) {
+        invalidate(event.getProfile());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final PlayerQuitEvent event) {
+        invalidate(PlayerConverter.getID(event.getPlayer()));
+    }
+
+    /**
+     * Returns the share of lookups that were answered from the cache, by variable type. Only types whose values are
+     * cached are included.
+     *
+     * @return the hit ratio between 0 and 1 by variable type
+     */
+    public Map<String, Double> getHitRatios() {
+        final Map<String, Double> result = new HashMap<>();
+        statistics.forEach((type, typeStatistics) -> result.put(type, typeStatistics.getHitRatio()));
+        return result;
+    }
+
+    /**
+     * A cached value.
+     */
+    private static final class Entry {
+        private final String value;
+
+        /**
+         * Whether the value is kept until it is invalidated.
+         */
+        private final boolean permanent;
+
+        /**
+         * The {@link System#nanoTime()} at which the value expires if it is not permanent.
+         */
+        private final long expiry;
+
+        private Entry(final String value, final boolean permanent, final long expiry) {
+            this.value = value;
+            this.permanent = permanent;
+            this.expiry = expiry;
+        }
+
+        private boolean isValid(final long now) {
+            return permanent || now - expiry < 0;
+        }
+    }
+
+    /**
+     * The hits and misses of a variable type.
+     */
+    private static final class Statistics {
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        private double getHitRatio() {
+            final long hitCount = hits.sum();
+            final long total = hitCount + misses.sum();
+            return total == 0 ? 0 : (double) hitCount / total;
+        }
+    }
+}
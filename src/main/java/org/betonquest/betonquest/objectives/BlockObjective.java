@@ -6,13 +6,10 @@ import org.betonquest.betonquest.api.CountingObjective;
 import org.betonquest.betonquest.api.profiles.OnlineProfile;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
+import org.betonquest.betonquest.modules.objective.ObjectiveEventDispatcher;
 import org.betonquest.betonquest.utils.BlockSelector;
 import org.betonquest.betonquest.utils.PlayerConverter;
-import org.bukkit.Bukkit;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 
@@ -21,7 +18,7 @@ import org.bukkit.event.block.BlockPlaceEvent;
  * (breaking when should be placing) will reverse the progress.
  */
 @SuppressWarnings({"PMD.CommentRequired", "PMD.AvoidDuplicateLiterals"})
-public class BlockObjective extends CountingObjective implements Listener {
+public class BlockObjective extends CountingObjective {
     private final BlockSelector selector;
 
     private final boolean exactMatch;
@@ -41,10 +38,8 @@ public class BlockObjective extends CountingObjective implements Listener {
         return String.valueOf(targetAmount.getInt(profile));
     }
 
-    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
-    public void onBlockPlace(final BlockPlaceEvent event) {
-        final OnlineProfile onlineProfile = PlayerConverter.getID(event.getPlayer());
-        if (containsPlayer(onlineProfile) && selector.match(event.getBlock(), exactMatch) && checkConditions(onlineProfile)) {
+    public void onBlockPlace(final BlockPlaceEvent event, final OnlineProfile onlineProfile) {
+        if (selector.match(event.getBlock(), exactMatch) && checkConditions(onlineProfile)) {
             if (getCountingData(onlineProfile).getDirectionFactor() < 0 && noSafety) {
                 return;
             }
@@ -52,10 +47,8 @@ public class BlockObjective extends CountingObjective implements Listener {
         }
     }
 
-    @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
-    public void onBlockBreak(final BlockBreakEvent event) {
-        final OnlineProfile onlineProfile = PlayerConverter.getID(event.getPlayer());
-        if (containsPlayer(onlineProfile) && selector.match(event.getBlock(), exactMatch) && checkConditions(onlineProfile)) {
+    public void onBlockBreak(final BlockBreakEvent event, final OnlineProfile onlineProfile) {
+        if (selector.match(event.getBlock(), exactMatch) && checkConditions(onlineProfile)) {
             if (getCountingData(onlineProfile).getDirectionFactor() > 0 && noSafety) {
                 return;
             }
@@ -70,12 +63,18 @@ public class BlockObjective extends CountingObjective implements Listener {
 
     @Override
     public void start() {
-        Bukkit.getPluginManager().registerEvents(this, BetonQuest.getInstance());
+        final ObjectiveEventDispatcher dispatcher = BetonQuest.getInstance().getObjectiveEventDispatcher();
+        dispatcher.subscribe(this, BlockPlaceEvent.class, EventPriority.HIGHEST,
+                event -> PlayerConverter.getID(event.getPlayer()), event -> event.getBlock().getType(),
+                selector.getMaterials(), this::onBlockPlace);
+        dispatcher.subscribe(this, BlockBreakEvent.class, EventPriority.HIGHEST,
+                event -> PlayerConverter.getID(event.getPlayer()), event -> event.getBlock().getType(),
+                selector.getMaterials(), this::onBlockBreak);
     }
 
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        BetonQuest.getInstance().getObjectiveEventDispatcher().unsubscribe(this);
     }
 
 }
@@ -8,25 +8,17 @@ import org.betonquest.betonquest.api.logger.BetonQuestLogger;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
 import org.betonquest.betonquest.exceptions.QuestRuntimeException;
+import org.betonquest.betonquest.modules.movement.MovementDispatcher;
 import org.betonquest.betonquest.utils.PlayerConverter;
 import org.betonquest.betonquest.utils.location.CompoundLocation;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerMoveEvent;
-import org.bukkit.event.vehicle.VehicleMoveEvent;
-
-import java.util.List;
 
 /**
  * Player has to reach certain radius around the specified location
  */
 @SuppressWarnings("PMD.CommentRequired")
-public class LocationObjective extends Objective implements Listener {
+public class LocationObjective extends Objective {
     /**
      * Custom {@link BetonQuestLogger} instance for this class.
      */
@@ -36,6 +28,11 @@ public class LocationObjective extends Objective implements Listener {
 
     private final VariableNumber range;
 
+    /**
+     * The registration of the watched area, null while the objective is stopped.
+     */
+    private MovementDispatcher.Registration registration;
+
     public LocationObjective(final Instruction instruction) throws InstructionParseException {
         super(instruction);
         this.log = BetonQuest.getInstance().getLoggerFactory().create(getClass());
@@ -44,24 +41,8 @@ public class LocationObjective extends Objective implements Listener {
         range = instruction.getVarNum();
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onMove(final PlayerMoveEvent event) {
-        qreHandler.handle(() -> {
-            checkLocation(event.getTo(), PlayerConverter.getID(event.getPlayer()));
-        });
-    }
-
-    @EventHandler(ignoreCancelled = true)
-    public void onRide(final VehicleMoveEvent event) {
-        qreHandler.handle(() -> {
-            final List<Entity> passengers = event.getVehicle().getPassengers();
-            for (final Entity passenger : passengers) {
-                if (passenger instanceof Player) {
-                    final Player player = (Player) passenger;
-                    checkLocation(event.getTo(), PlayerConverter.getID(player));
-                }
-            }
-        });
+    private void onMove(final Player player, final Location toLocation) {
+        qreHandler.handle(() -> checkLocation(toLocation, PlayerConverter.getID(player)));
     }
 
     private void checkLocation(final Location toLocation, final Profile profile) throws QuestRuntimeException {
@@ -80,12 +61,32 @@ public class LocationObjective extends Objective implements Listener {
 
     @Override
     public void start() {
-        Bukkit.getPluginManager().registerEvents(this, BetonQuest.getInstance());
+        registration = BetonQuest.getInstance().getMovementDispatcher().register(getArea(), this::onMove);
     }
 
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        if (registration != null) {
+            BetonQuest.getInstance().getMovementDispatcher().unregister(registration);
+            registration = null;
+        }
+    }
+
+    /**
+     * Gets the area around the location, if it is the same for every profile.
+     *
+     * @return the area or null if every move must be checked
+     */
+    private MovementDispatcher.Area getArea() {
+        if (!loc.isConstant() || !range.isConstant()) {
+            return null;
+        }
+        try {
+            return MovementDispatcher.Area.around(loc.getLocation(null), range.getDouble(null));
+        } catch (final QuestRuntimeException e) {
+            log.debug(instruction.getPackage(), "Could not locate the area of '" + instruction.getID() + "', checking every move", e);
+            return null;
+        }
     }
 
     @Override
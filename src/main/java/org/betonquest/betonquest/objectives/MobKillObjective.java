@@ -1,6 +1,5 @@
 package org.betonquest.betonquest.objectives;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.Instruction;
 import org.betonquest.betonquest.api.CountingObjective;
@@ -8,11 +7,8 @@ import org.betonquest.betonquest.api.MobKillNotifier.MobKilledEvent;
 import org.betonquest.betonquest.api.profiles.OnlineProfile;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
 import org.betonquest.betonquest.utils.Utils;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.EntityType;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
+import org.bukkit.event.EventPriority;
 import org.bukkit.metadata.MetadataValue;
 
 import java.util.List;
@@ -23,7 +19,7 @@ import java.util.List;
  * amount.
  */
 @SuppressWarnings("PMD.CommentRequired")
-public class MobKillObjective extends CountingObjective implements Listener {
+public class MobKillObjective extends CountingObjective {
     private final List<EntityType> entities;
 
     protected String name;
@@ -46,13 +42,8 @@ public class MobKillObjective extends CountingObjective implements Listener {
     }
 
     @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity"})
-    @SuppressFBWarnings("NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE")
-    @EventHandler(ignoreCancelled = true)
-    public void onMobKill(final MobKilledEvent event) {
-        final OnlineProfile onlineProfile = event.getProfile().getOnlineProfile().get();
-        if (!containsPlayer(onlineProfile)
-                || !entities.contains(event.getEntity().getType())
-                || name != null && (event.getEntity().getCustomName() == null
+    public void onMobKill(final MobKilledEvent event, final OnlineProfile onlineProfile) {
+        if (name != null && (event.getEntity().getCustomName() == null
                 || !event.getEntity().getCustomName().equals(name))) {
             return;
         }
@@ -76,11 +67,13 @@ public class MobKillObjective extends CountingObjective implements Listener {
 
     @Override
     public void start() {
-        Bukkit.getPluginManager().registerEvents(this, BetonQuest.getInstance());
+        BetonQuest.getInstance().getObjectiveEventDispatcher().subscribe(this, MobKilledEvent.class, EventPriority.NORMAL,
+                event -> event.getProfile().getOnlineProfile().orElse(null), event -> event.getEntity().getType(),
+                entities, this::onMobKill);
     }
 
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        BetonQuest.getInstance().getObjectiveEventDispatcher().unsubscribe(this);
     }
 }
@@ -7,16 +7,17 @@ import org.betonquest.betonquest.api.CountingObjective;
 import org.betonquest.betonquest.api.profiles.OnlineProfile;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
 import org.betonquest.betonquest.utils.PlayerConverter;
-import org.bukkit.Bukkit;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.EntityPickupItemEvent;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.HashSet;
+import java.util.Set;
+
 @SuppressWarnings("PMD.CommentRequired")
-public class PickupObjective extends CountingObjective implements Listener {
+public class PickupObjective extends CountingObjective {
 
     private final Item[] pickupItems;
 
@@ -27,16 +28,11 @@ public class PickupObjective extends CountingObjective implements Listener {
         preCheckAmountNotLessThanOne(targetAmount);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onPickup(final EntityPickupItemEvent event) {
-        if (isValidItem(event.getItem().getItemStack()) && event.getEntity() instanceof Player) {
-            final OnlineProfile onlineProfile = PlayerConverter.getID((Player) event.getEntity());
-
-            if (containsPlayer(onlineProfile) && checkConditions(onlineProfile)) {
-                final ItemStack pickupItem = event.getItem().getItemStack();
-                getCountingData(onlineProfile).progress(pickupItem.getAmount());
-                completeIfDoneOrNotify(onlineProfile);
-            }
+    public void onPickup(final EntityPickupItemEvent event, final OnlineProfile onlineProfile) {
+        final ItemStack pickupItem = event.getItem().getItemStack();
+        if (isValidItem(pickupItem) && checkConditions(onlineProfile)) {
+            getCountingData(onlineProfile).progress(pickupItem.getAmount());
+            completeIfDoneOrNotify(onlineProfile);
         }
     }
 
@@ -51,11 +47,17 @@ public class PickupObjective extends CountingObjective implements Listener {
 
     @Override
     public void start() {
-        Bukkit.getPluginManager().registerEvents(this, BetonQuest.getInstance());
+        final Set<Material> materials = new HashSet<>();
+        for (final Item item : pickupItems) {
+            materials.addAll(item.getItem().getMaterials());
+        }
+        BetonQuest.getInstance().getObjectiveEventDispatcher().subscribe(this, EntityPickupItemEvent.class, EventPriority.NORMAL,
+                event -> event.getEntity() instanceof Player ? PlayerConverter.getID((Player) event.getEntity()) : null,
+                event -> event.getItem().getItemStack().getType(), materials, this::onPickup);
     }
 
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        BetonQuest.getInstance().getObjectiveEventDispatcher().unsubscribe(this);
     }
 }
@@ -11,20 +11,19 @@ import org.betonquest.betonquest.exceptions.QuestRuntimeException;
 import org.betonquest.betonquest.utils.BlockSelector;
 import org.betonquest.betonquest.utils.PlayerConverter;
 import org.betonquest.betonquest.utils.location.CompoundLocation;
-import org.bukkit.Bukkit;
 import org.bukkit.block.Block;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.EquipmentSlot;
 
+import java.util.Collections;
+
 /**
  * The player must step on the pressure plate
  */
 @SuppressWarnings("PMD.CommentRequired")
-public class StepObjective extends Objective implements Listener {
+public class StepObjective extends Objective {
     /**
      * Custom {@link BetonQuestLogger} instance for this class.
      */
@@ -49,22 +48,16 @@ public class StepObjective extends Objective implements Listener {
         return null;
     }
 
-    @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity"})
-    @EventHandler(ignoreCancelled = true)
-    public void onStep(final PlayerInteractEvent event) {
+    public void onStep(final PlayerInteractEvent event, final OnlineProfile onlineProfile) {
         // Only fire the event for the main hand to avoid that the event is triggered two times.
         if (event.getHand() == EquipmentSlot.OFF_HAND && event.getHand() != null) {
             return; // off hand packet, ignore.
         }
-        if (event.getAction() != Action.PHYSICAL) {
-            return;
-        }
         final Block clickedBlock = event.getClickedBlock();
         if (clickedBlock == null) {
             return;
         }
         try {
-            final OnlineProfile onlineProfile = PlayerConverter.getID(event.getPlayer());
             final Block block = loc.getLocation(onlineProfile).getBlock();
             if (!clickedBlock.equals(block)) {
                 return;
@@ -73,9 +66,6 @@ public class StepObjective extends Objective implements Listener {
             if (PRESSURE_PLATE_SELECTOR == null || !PRESSURE_PLATE_SELECTOR.match(block.getBlockData().getMaterial())) {
                 return;
             }
-            if (!containsPlayer(onlineProfile)) {
-                return;
-            }
             // player stepped on the pressure plate
             if (checkConditions(onlineProfile)) {
                 completeObjective(onlineProfile);
@@ -87,12 +77,14 @@ public class StepObjective extends Objective implements Listener {
 
     @Override
     public void start() {
-        Bukkit.getPluginManager().registerEvents(this, BetonQuest.getInstance());
+        BetonQuest.getInstance().getObjectiveEventDispatcher().subscribe(this, PlayerInteractEvent.class, EventPriority.NORMAL,
+                event -> PlayerConverter.getID(event.getPlayer()), PlayerInteractEvent::getAction,
+                Collections.singleton(Action.PHYSICAL), this::onStep);
     }
 
     @Override
     public void stop() {
-        HandlerList.unregisterAll(this);
+        BetonQuest.getInstance().getObjectiveEventDispatcher().unsubscribe(this);
     }
 
     @Override
@@ -3,16 +3,19 @@ package org.betonquest.betonquest.quest.event;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.api.quest.event.Event;
 import org.betonquest.betonquest.exceptions.QuestRuntimeException;
+import org.betonquest.betonquest.modules.thread.PrimaryServerThreadExecutor;
 import org.bukkit.Server;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitScheduler;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 /**
  * Wrapper for {@link Event}s to be executed on the primary server thread.
+ * If a {@link PrimaryServerThreadExecutor} is registered as a service, it is used to batch the executions.
  */
 public class PrimaryServerThreadEvent implements Event {
     /**
@@ -67,12 +70,17 @@ public class PrimaryServerThreadEvent implements Event {
     }
 
     private void executeOnPrimaryThread(final Callable<Void> callable) throws QuestRuntimeException {
-        final Future<Void> executingEventFuture = scheduler.callSyncMethod(plugin, callable);
+        final PrimaryServerThreadExecutor executor = server.getServicesManager().load(PrimaryServerThreadExecutor.class);
+        final Future<Void> executingEventFuture = executor == null
+                ? scheduler.callSyncMethod(plugin, callable)
+                : executor.submit(callable);
         try {
             executingEventFuture.get();
         } catch (final InterruptedException e) {
             executingEventFuture.cancel(true);
             throw new QuestRuntimeException("Thread was Interrupted!", e);
+        } catch (final CancellationException e) {
+            throw new QuestRuntimeException("The plugin was disabled before the main thread ran this!", e);
         } catch (final ExecutionException e) {
             if (e.getCause() instanceof QuestRuntimeException) {
                 throw (QuestRuntimeException)e.getCause();
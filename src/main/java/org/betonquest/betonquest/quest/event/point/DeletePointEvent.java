@@ -33,6 +33,7 @@ public class DeletePointEvent implements Event {
         if (profile == null) {
             PlayerConverter.getOnlineProfiles().forEach(onlineProfile -> betonQuest.getPlayerData(onlineProfile).removePointsCategory(category));
             betonQuest.getSaver().add(new Saver.Record(UpdateType.REMOVE_ALL_POINTS, category));
+            betonQuest.getPlayerDataCache().invalidateAll();
         } else {
             betonQuest.getOfflinePlayerData(profile).removePointsCategory(category);
         }
@@ -0,0 +1,141 @@
+package org.betonquest.betonquest.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits instructions into their parts and finds the variables in strings, in a single pass over the string and
+ * without regular expressions.
+ * <p>
+ * The results are the same as those of the regular expressions these methods replace, so instructions are still
+ * split at white space except between quotes, and variables are still any text between two % characters that
+ * contains neither white space nor another % character.
+ */
+public final class InstructionTokenizer {
+    private InstructionTokenizer() {
+        // Empty
+    }
+
+    /**
+     * Split a string by white space, except if between quotes.
+     * The quotes are removed, text directly before an opening quote stays part of the same part.
+     *
+     * @param string the input string
+     * @return the split string
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    public static String[] split(final String string) {
+        final List<String> parts = new ArrayList<>();
+        final int length = string.length();
+        int index = skipWhitespace(string, 0);
+        while (index < length) {
+            int end = index;
+            while (end < length && !isWhitespace(string.charAt(end))) {
+                end++;
+            }
+            final int opening = findOpeningQuote(string, index, end);
+            if (opening < 0) {
+                parts.add(string.substring(index, end));
+                index = skipWhitespace(string, end);
+            } else {
+                final int closing = string.indexOf('"', opening + 1);
+                parts.add(string.substring(index, opening) + string.substring(opening + 1, closing));
+                index = skipWhitespace(string, closing + 1);
+            }
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    /**
+     * Finds the distinct variables in a string, including their % characters, in the order they appear in.
+     *
+     * @param text the text to search
+     * @return the unmodifiable list of variables
+     */
+    public static List<String> variables(final String text) {
+        int start = text.indexOf('%');
+        if (start < 0) {
+            return Collections.emptyList();
+        }
+        final Set<String> variables = new LinkedHashSet<>();
+        while (start >= 0) {
+            final int end = variableEnd(text, start);
+            if (end < 0) {
+                start = text.indexOf('%', start + 1);
+            } else {
+                variables.add(text.substring(start, end));
+                start = text.indexOf('%', end);
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(variables));
+    }
+
+    /**
+     * Checks if a variable starts at the given index of the text.
+     *
+     * @param text  the text to check
+     * @param start the index of the opening % character
+     * @return the index after the closing % character, or -1 if no variable starts at the index
+     */
+    public static int variableEnd(final String text, final int start) {
+        if (text.charAt(start) != '%') {
+            return -1;
+        }
+        final int length = text.length();
+        int index = start + 1;
+        while (index < length) {
+            final char character = text.charAt(index);
+            if (character == '%') {
+                return index > start + 1 ? index + 1 : -1;
+            }
+            if (isWhitespace(character)) {
+                return -1;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the quote that starts a quoted section in the part between start and end. That is the last quote of the
+     * part if there is another quote after it, otherwise the second to last quote of the part.
+     *
+     * @param string the whole string
+     * @param start  the start of the part
+     * @param end    the end of the part
+     * @return the index of the opening quote, or -1 if the part has no quoted section
+     */
+    private static int findOpeningQuote(final String string, final int start, final int end) {
+        final int last = string.lastIndexOf('"', end - 1);
+        if (last < start) {
+            return -1;
+        }
+        if (string.indexOf('"', last + 1) >= 0) {
+            return last;
+        }
+        final int secondToLast = last == 0 ? -1 : string.lastIndexOf('"', last - 1);
+        return secondToLast < start ? -1 : secondToLast;
+    }
+
+    private static int skipWhitespace(final String string, final int start) {
+        int index = start;
+        while (index < string.length() && isWhitespace(string.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Checks if a character is white space in the sense of the {@code \s} character class of regular expressions.
+     *
+     * @param character the character to check
+     * @return true if the character is white space
+     */
+    private static boolean isWhitespace(final char character) {
+        return character == ' ' || character == '\t' || character == '\n' || character == '\u000B'
+                || character == '\f' || character == '\r';
+    }
+}
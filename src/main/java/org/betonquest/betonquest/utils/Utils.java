@@ -25,8 +25,6 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -50,7 +48,7 @@ public final class Utils {
         LOG.info("Backing up!");
         final long time = new Date().getTime();
         final BetonQuest instance = BetonQuest.getInstance();
-        if (!Backup.backupDatabase(new File(instance.getDataFolder(), "database-backup.yml"))) {
+        if (!Backup.backupDatabase(new File(instance.getDataFolder(), Backup.BACKUP_FILE))) {
             LOG.warn("There was an error during backing up the database! This does not affect"
                     + " the configuration backup, nor damage your database. You should backup"
                     + " the database maually if you want to be extra safe, but it's not necessary if"
@@ -67,7 +65,7 @@ public final class Utils {
 
         Zipper.zip(instance.getDataFolder(), outputPath, "^backup.*", "^database\\.db$", "^changelog\\.txt$", "^logs$");
         // delete database backup so it doesn't make a mess later on
-        new File(instance.getDataFolder(), "database-backup.yml").delete();
+        new File(instance.getDataFolder(), Backup.BACKUP_FILE).delete();
         // done
         LOG.debug("Done in " + (new Date().getTime() - time) + "ms");
         LOG.info("Done, you can find the backup in 'Backups' directory.");
@@ -297,15 +295,6 @@ public final class Utils {
      * @return the split string.
      */
     public static String[] split(final String string) {
-        final List<String> list = new ArrayList<>();
-        final Matcher matcher = Pattern.compile("(?:(?:(\\S*)(?:\")([^\"]*?)(?:\"))|(\\S+))\\s*").matcher(string);
-        while (matcher.find()) {
-            if (matcher.group(3) == null) {
-                list.add(matcher.group(1) + matcher.group(2));
-            } else {
-                list.add(matcher.group(3));
-            }
-        }
-        return list.toArray(new String[0]);
+        return InstructionTokenizer.split(string);
     }
 }
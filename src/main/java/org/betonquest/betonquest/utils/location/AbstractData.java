@@ -114,6 +114,13 @@ abstract class AbstractData<T extends Cloneable> {
         return object == null ? parseVariableObject(profile) : clone(object);
     }
 
+    /**
+     * @return true if the object contains no {@link Variable}s and is the same for every profile
+     */
+    public boolean isConstant() {
+        return object != null;
+    }
+
     private T parseVariableObject(final Profile profile) throws QuestRuntimeException {
         final String[] variables = new String[this.objectVariables.size()];
         for (int i = 0; i < this.objectVariables.size(); i++) {
@@ -69,6 +69,13 @@ public class CompoundLocation {
         return loc.clone().add(vec);
     }
 
+    /**
+     * @return true if the location contains no {@link Variable}s and is the same for every profile
+     */
+    public boolean isConstant() {
+        return locationData.isConstant() && (vectorData == null || vectorData.isConstant());
+    }
+
     public LocationData getLocationData() {
         return locationData;
     }
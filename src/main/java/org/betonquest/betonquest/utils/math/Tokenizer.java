@@ -3,6 +3,7 @@ package org.betonquest.betonquest.utils.math;
 import org.betonquest.betonquest.VariableNumber;
 import org.betonquest.betonquest.api.config.quest.QuestPackage;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
+import org.betonquest.betonquest.exceptions.QuestRuntimeException;
 import org.betonquest.betonquest.utils.math.tokens.AbsoluteValue;
 import org.betonquest.betonquest.utils.math.tokens.Negation;
 import org.betonquest.betonquest.utils.math.tokens.Number;
@@ -126,7 +127,7 @@ public class Tokenizer {
                 throw new InstructionParseException("invalid calculation (parenthesis / brackets mismatch)");
             }
 
-            nextInLine = new Parenthesis(tokenize(null, null, val2.substring(start + 1, index)), opening, chr);
+            nextInLine = fold(new Parenthesis(tokenize(null, null, val2.substring(start + 1, index)), opening, chr));
 
         } else if (chr == '|') { //tokenize absolute values
             index = findAbsoluteEnd(val2, index);
@@ -135,7 +136,7 @@ public class Tokenizer {
                 throw new InstructionParseException("invalid calculation (empty absolute value)");
             }
 
-            nextInLine = new AbsoluteValue(tokenize(null, null, val2.substring(start + 1, index)));
+            nextInLine = fold(new AbsoluteValue(tokenize(null, null, val2.substring(start + 1, index))));
 
         } else if ((numberMatcher = FP_REGEX.matcher(val2)).find()) { //tokenize numbers
             isNegated = false;
@@ -163,7 +164,7 @@ public class Tokenizer {
         }
 
         if (isNegated) {
-            nextInLine = new Negation(nextInLine);
+            nextInLine = fold(new Negation(nextInLine));
         }
 
         if (index < val2.length() - 1) {
@@ -187,20 +188,37 @@ public class Tokenizer {
 
             //next operation has higher priority, tokenize it first
             if (nextOperator.getPriority() > operator.getPriority()) {
-                return new Operation(val1, operator, tokenize(nextInLine, nextOperator, newVal));
+                return fold(new Operation(val1, operator, tokenize(nextInLine, nextOperator, newVal)));
             }
 
             //next operation has lower priority, tokenize this first
-            return tokenize(new Operation(val1, operator, nextInLine), nextOperator, newVal);
+            return tokenize(fold(new Operation(val1, operator, nextInLine)), nextOperator, newVal);
         } else {
             if (operator == null) {
                 return nextInLine;
             } else {
-                return new Operation(val1, operator, nextInLine);
+                return fold(new Operation(val1, operator, nextInLine));
             }
         }
     }
 
+    /**
+     * Replaces a token that contains no variables with the number it resolves to, so it is calculated only once.
+     *
+     * @param token the token to fold
+     * @return the number the token resolves to, or the token itself if it contains variables
+     */
+    private static Token fold(final Token token) {
+        if (!token.isConstant()) {
+            return token;
+        }
+        try {
+            return new Number(token.resolve(null));
+        } catch (final QuestRuntimeException e) {
+            return token;
+        }
+    }
+
     private int findAbsoluteEnd(final String val, final int startIndex) throws InstructionParseException {
         int index = startIndex;
         for (; index < val.length(); index++) {
@@ -31,6 +31,11 @@ public class AbsoluteValue implements Token {
         return Math.abs(inside.resolve(profile));
     }
 
+    @Override
+    public boolean isConstant() {
+        return inside.isConstant();
+    }
+
     @Override
     public String toString() {
         return '|' + inside.toString() + '|';
@@ -31,6 +31,11 @@ public class Negation implements Token {
         return -inside.resolve(profile);
     }
 
+    @Override
+    public boolean isConstant() {
+        return inside.isConstant();
+    }
+
     @Override
     public String toString() {
         return '-' + inside.toString();
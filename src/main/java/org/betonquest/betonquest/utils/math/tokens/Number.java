@@ -30,6 +30,11 @@ public class Number implements Token {
         return value;
     }
 
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
     @Override
     public String toString() {
         return String.valueOf(value);
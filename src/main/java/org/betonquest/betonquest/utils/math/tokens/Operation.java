@@ -46,6 +46,11 @@ public class Operation implements Token {
         return operator.calculate(val1.resolve(profile), val2.resolve(profile));
     }
 
+    @Override
+    public boolean isConstant() {
+        return val1.isConstant() && val2.isConstant();
+    }
+
     @Override
     public String toString() {
         return val1.toString() + operator.toString() + val2.toString();
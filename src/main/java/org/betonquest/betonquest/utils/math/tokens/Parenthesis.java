@@ -45,6 +45,11 @@ public class Parenthesis implements Token {
         return inside.resolve(profile);
     }
 
+    @Override
+    public boolean isConstant() {
+        return inside.isConstant();
+    }
+
     @Override
     public String toString() {
         return openingSymbol + inside.toString() + closingSymbol;
@@ -22,4 +22,11 @@ public interface Token {
      *                               due to an Quest Runtime exception
      */
     double resolve(Profile profile) throws QuestRuntimeException;
+
+    /**
+     * Checks if the token resolves to the same value for every profile.
+     *
+     * @return true if the token contains no variables
+     */
+    boolean isConstant();
 }
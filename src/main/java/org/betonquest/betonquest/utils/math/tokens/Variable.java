@@ -32,6 +32,11 @@ public class Variable implements Token {
         return variableNumber.getDouble(profile);
     }
 
+    @Override
+    public boolean isConstant() {
+        return variableNumber.isConstant();
+    }
+
     @Override
     public String toString() {
         return variableNumber.toString();
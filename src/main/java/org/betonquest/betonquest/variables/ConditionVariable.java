@@ -2,6 +2,7 @@ package org.betonquest.betonquest.variables;
 
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.Instruction;
+import org.betonquest.betonquest.api.Condition;
 import org.betonquest.betonquest.api.Variable;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.config.Config;
@@ -20,6 +21,12 @@ public class ConditionVariable extends Variable {
         papiMode = instruction.hasArgument("papiMode");
     }
 
+    @Override
+    public boolean isCacheable() {
+        final Condition condition = BetonQuest.getCondition(conditionId);
+        return condition != null && condition.isCacheable();
+    }
+
     @Override
     public String getValue(final Profile profile) {
         final String lang = BetonQuest.getInstance().getPlayerData(profile).getLanguage();
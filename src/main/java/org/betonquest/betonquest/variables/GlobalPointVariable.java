@@ -19,7 +19,12 @@ public class GlobalPointVariable extends PointVariable {
 
     @Override
     public String getValue(final Profile profile) {
-        return getValue(BetonQuest.getInstance().getGlobalData().getPoints());
+        return getValue(BetonQuest.getInstance().getGlobalData().getPoint(category));
+    }
+
+    @Override
+    public double getNumber(final Profile profile) {
+        return getNumber(BetonQuest.getInstance().getGlobalData().getPoint(category));
     }
 
 }
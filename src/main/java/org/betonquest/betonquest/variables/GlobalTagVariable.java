@@ -24,7 +24,7 @@ public class GlobalTagVariable extends TagVariable {
 
     @Override
     public String getValue(final Profile profile) {
-        return getValue(BetonQuest.getInstance().getGlobalData().getTags());
+        return getValue(BetonQuest.getInstance().getGlobalData());
     }
 }
 
@@ -3,6 +3,7 @@ package org.betonquest.betonquest.variables;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.Instruction;
+import org.betonquest.betonquest.api.NumericVariable;
 import org.betonquest.betonquest.api.Variable;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
@@ -19,7 +20,7 @@ import java.util.Locale;
  * or the amount in player's inventory.
  */
 @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.CommentRequired"})
-public class ItemVariable extends Variable {
+public class ItemVariable extends Variable implements NumericVariable {
     private final QuestItem questItem;
 
     private final Type type;
@@ -90,6 +91,18 @@ public class ItemVariable extends Variable {
 
     }
 
+    @Override
+    public double getNumber(final Profile profile) {
+        switch (type) {
+            case AMOUNT:
+                return itemAmount(profile);
+            case LEFT:
+                return amount - itemAmount(profile);
+            default:
+                return Double.parseDouble(getValue(profile));
+        }
+    }
+
     @SuppressFBWarnings("NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE")
     private int itemAmount(final Profile profile) {
         final Player player = profile.getOnlineProfile().get().getPlayer();
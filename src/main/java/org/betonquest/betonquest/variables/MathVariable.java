@@ -2,6 +2,7 @@ package org.betonquest.betonquest.variables;
 
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.Instruction;
+import org.betonquest.betonquest.api.NumericVariable;
 import org.betonquest.betonquest.api.Variable;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
 import org.betonquest.betonquest.api.profiles.Profile;
@@ -16,7 +17,12 @@ import java.util.Locale;
  * This variable evaluates the given calculation and returns the result.
  */
 @SuppressWarnings({"PMD.CommentRequired", "deprecation"})
-public class MathVariable extends Variable {
+public class MathVariable extends Variable implements NumericVariable {
+    /**
+     * Integral results below this magnitude are exact in a long and are formatted without a {@link java.util.Formatter}.
+     */
+    private static final double EXACT_LIMIT = 0x1p53;
+
     /**
      * Custom {@link BetonQuestLogger} instance for this class.
      */
@@ -24,6 +30,16 @@ public class MathVariable extends Variable {
 
     private final Token calculation;
 
+    /**
+     * The formatted result if the calculation contains no variables, null otherwise.
+     */
+    private final String constantValue;
+
+    /**
+     * The result if the calculation contains no variables.
+     */
+    private final double constantNumber;
+
     public MathVariable(final Instruction instruction) throws InstructionParseException {
         super(instruction);
         this.log = BetonQuest.getInstance().getLoggerFactory().create(getClass());
@@ -33,19 +49,37 @@ public class MathVariable extends Variable {
         }
         final String expression = instructionString.substring("math.calc:".length());
         this.calculation = new Tokenizer(instruction.getPackage()).tokenize(expression);
+        this.constantNumber = calculation.isConstant() ? resolve(null) : 0;
+        this.constantValue = calculation.isConstant() ? format(constantNumber) : null;
     }
 
     @Override
     public String getValue(final Profile profile) {
+        return constantValue == null ? format(resolve(profile)) : constantValue;
+    }
+
+    @Override
+    public double getNumber(final Profile profile) {
+        return constantValue == null ? resolve(profile) : constantNumber;
+    }
+
+    private double resolve(final Profile profile) {
         try {
-            final double value = this.calculation.resolve(profile);
-            if (value % 1 == 0) {
-                return String.format(Locale.US, "%.0f", value);
-            }
-            return String.valueOf(value);
+            return this.calculation.resolve(profile);
         } catch (final QuestRuntimeException e) {
             log.warn(instruction.getPackage(), "Could not calculate '" + calculation + "' (" + e.getMessage() + "). Returning 0 instead.", e);
-            return "0";
+            return 0;
+        }
+    }
+
+    private String format(final double value) {
+        if (value % 1 == 0) {
+            // negative zero is left to the formatter, which keeps its sign
+            if (Math.abs(value) < EXACT_LIMIT && Double.doubleToRawLongBits(value) != Long.MIN_VALUE) {
+                return Long.toString((long) value);
+            }
+            return String.format(Locale.US, "%.0f", value);
         }
+        return String.valueOf(value);
     }
 }
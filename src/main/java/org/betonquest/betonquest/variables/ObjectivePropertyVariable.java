@@ -2,6 +2,8 @@ package org.betonquest.betonquest.variables;
 
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.Instruction;
+import org.betonquest.betonquest.api.CountingObjective;
+import org.betonquest.betonquest.api.NumericVariable;
 import org.betonquest.betonquest.api.Objective;
 import org.betonquest.betonquest.api.Variable;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
@@ -9,12 +11,13 @@ import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
 import org.betonquest.betonquest.exceptions.ObjectNotFoundException;
 import org.betonquest.betonquest.id.ObjectiveID;
+import org.betonquest.betonquest.objectives.VariableObjective;
 
 /**
  * Resolves to a specified property of an objective.
  */
 @SuppressWarnings("PMD.CommentRequired")
-public class ObjectivePropertyVariable extends Variable {
+public class ObjectivePropertyVariable extends Variable implements NumericVariable {
     private final String propertyName;
 
     private final ObjectiveID objective;
@@ -46,6 +49,18 @@ public class ObjectivePropertyVariable extends Variable {
         objective = tempObjective;
     }
 
+    /**
+     * Only the properties of counting and variable objectives are stored in their data, which invalidates the
+     * cache on every change. Others, like the time left of a delay objective, change on their own.
+     *
+     * @return if the objective is a counting or variable objective
+     */
+    @Override
+    public boolean isCacheable() {
+        final Objective objective = BetonQuest.getInstance().getObjective(this.objective);
+        return objective instanceof CountingObjective || objective instanceof VariableObjective;
+    }
+
     @Override
     public String getValue(final Profile profile) {
         final Objective objective = BetonQuest.getInstance().getObjective(this.objective);
@@ -57,4 +72,13 @@ public class ObjectivePropertyVariable extends Variable {
         return objective.containsPlayer(profile) ? objective.getProperty(propertyName, profile) : "";
     }
 
+    @Override
+    public double getNumber(final Profile profile) {
+        final Objective objective = BetonQuest.getInstance().getObjective(this.objective);
+        if (objective == null || !objective.containsPlayer(profile)) {
+            throw new NumberFormatException("The objective '" + this.objective + "' is not active");
+        }
+        return objective.getNumberProperty(propertyName, profile);
+    }
+
 }
@@ -3,6 +3,7 @@ package org.betonquest.betonquest.variables;
 import org.betonquest.betonquest.BetonQuest;
 import org.betonquest.betonquest.Instruction;
 import org.betonquest.betonquest.Point;
+import org.betonquest.betonquest.api.NumericVariable;
 import org.betonquest.betonquest.api.Variable;
 import org.betonquest.betonquest.api.logger.BetonQuestLogger;
 import org.betonquest.betonquest.api.profiles.Profile;
@@ -10,15 +11,15 @@ import org.betonquest.betonquest.exceptions.InstructionParseException;
 import org.betonquest.betonquest.exceptions.ObjectNotFoundException;
 import org.betonquest.betonquest.id.ID;
 
-import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 
 /**
  * Allows you to display total amount of points or amount of points remaining to
  * some other amount.
  */
 @SuppressWarnings("PMD.CommentRequired")
-public class PointVariable extends Variable {
+public class PointVariable extends Variable implements NumericVariable {
 
     protected String category;
 
@@ -29,6 +30,7 @@ public class PointVariable extends Variable {
     @SuppressWarnings("PMD")
     public PointVariable(final Instruction instruction) throws InstructionParseException {
         super(instruction);
+        cacheable = true;
         final BetonQuestLogger log = BetonQuest.getInstance().getLoggerFactory().create(getClass());
         category = instruction.next();
 
@@ -68,28 +70,27 @@ public class PointVariable extends Variable {
 
     @Override
     public String getValue(final Profile profile) {
-        return getValue(BetonQuest.getInstance().getPlayerData(profile).getPoints());
+        return getValue(BetonQuest.getInstance().getPlayerData(profile).getPoint(category));
     }
 
-    protected String getValue(final List<Point> points) {
-        Point point = null;
-        for (final Point p : points) {
-            if (p.getCategory().equalsIgnoreCase(category)) {
-                point = p;
-                break;
-            }
-        }
-        int count = 0;
-        if (point != null) {
-            count = point.getCount();
-        }
+    @Override
+    public double getNumber(final Profile profile) {
+        return getNumber(BetonQuest.getInstance().getPlayerData(profile).getPoint(category));
+    }
+
+    protected String getValue(final Optional<Point> point) {
+        return Integer.toString(getNumber(point));
+    }
+
+    protected int getNumber(final Optional<Point> point) {
+        final int count = point.map(Point::getCount).orElse(0);
         switch (type) {
             case AMOUNT:
-                return Integer.toString(count);
+                return count;
             case LEFT:
-                return Integer.toString(amount - count);
+                return amount - count;
             default:
-                return "";
+                throw new IllegalArgumentException("Unknown type: " + type);
         }
     }
 
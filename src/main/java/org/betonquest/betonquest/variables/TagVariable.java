@@ -6,10 +6,9 @@ import org.betonquest.betonquest.api.Variable;
 import org.betonquest.betonquest.api.config.quest.QuestPackage;
 import org.betonquest.betonquest.api.profiles.Profile;
 import org.betonquest.betonquest.config.Config;
+import org.betonquest.betonquest.database.TagData;
 import org.betonquest.betonquest.exceptions.InstructionParseException;
 
-import java.util.List;
-
 /**
  * Exposes the presence of tags as a variable.
  * Originally implemented for use with the PAPI integration.
@@ -38,6 +37,7 @@ public class TagVariable extends Variable {
      */
     public TagVariable(final Instruction instruction) throws InstructionParseException {
         super(instruction);
+        cacheable = true;
         tagName = instruction.next();
         questPackage = instruction.getPackage();
         papiMode = instruction.hasArgument("papiMode");
@@ -51,8 +51,7 @@ public class TagVariable extends Variable {
      */
     @Override
     public String getValue(final Profile profile) {
-        final List<String> tags = BetonQuest.getInstance().getPlayerData(profile).getTags();
-        return getValue(tags);
+        return getValue(BetonQuest.getInstance().getPlayerData(profile));
     }
 
     /**
@@ -62,10 +61,10 @@ public class TagVariable extends Variable {
      * @param tags the tags to check
      * @return whether the player has the variable
      */
-    protected String getValue(final List<String> tags) {
+    protected String getValue(final TagData tags) {
         final String lang = Config.getLanguage();
 
-        if (tags.contains(questPackage.getQuestPath() + "." + tagName)) {
+        if (tags.hasTag(questPackage.getQuestPath() + "." + tagName)) {
             return papiMode ? Config.getMessage(lang, "condition_variable_met") : "true";
         }
         return papiMode ? Config.getMessage(lang, "condition_variable_not_met") : "false";